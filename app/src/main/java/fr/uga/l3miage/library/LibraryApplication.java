@@ -2,8 +2,10 @@ package fr.uga.l3miage.library;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(LibraryRuntimeHints.class)
 public class LibraryApplication {
 
     public static void main(String[] args) {
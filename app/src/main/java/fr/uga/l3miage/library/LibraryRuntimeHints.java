@@ -0,0 +1,47 @@
+package fr.uga.l3miage.library;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.data.domain.Borrower;
+import fr.uga.l3miage.data.domain.Librarian;
+import fr.uga.l3miage.data.domain.Person;
+import fr.uga.l3miage.library.authors.AuthorDTO;
+import fr.uga.l3miage.library.books.BookDTO;
+import fr.uga.l3miage.library.borrows.BorrowDTO;
+import fr.uga.l3miage.library.changes.Change;
+import fr.uga.l3miage.library.graph.ComponentStats;
+import fr.uga.l3miage.library.imports.ImportJob;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import fr.uga.l3miage.library.service.Reservation;
+import fr.uga.l3miage.library.stats.AuthorStatsDTO;
+import fr.uga.l3miage.library.suggest.Suggestion;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image: the domain model and the JSON payloads.
+ * MapStruct mappers are plain generated beans and are handled by the AOT processing of the context.
+ */
+public class LibraryRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> REFLECTIVE_TYPES = List.of(
+            Author.class, Book.class, Book.Language.class, Borrow.class, Borrower.class, Librarian.class,
+            Person.class, Person.Gender.class,
+            AuthorDTO.class, BookDTO.class, BorrowDTO.class,
+            Change.class, CatalogueEvent.class, CatalogueEvent.Entity.class, CatalogueEvent.Action.class,
+            ComponentStats.class, ImportJob.Status.class, Suggestion.class, Suggestion.Type.class,
+            Reservation.class, Reservation.State.class, AuthorStatsDTO.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        REFLECTIVE_TYPES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS));
+    }
+}
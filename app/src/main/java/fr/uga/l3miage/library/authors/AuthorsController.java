@@ -3,6 +3,8 @@ package fr.uga.l3miage.library.authors;
 import fr.uga.l3miage.data.domain.Author;
 import fr.uga.l3miage.library.books.BookDTO;
 import fr.uga.l3miage.library.books.BooksMapper;
+import fr.uga.l3miage.library.lookup.CatalogueLookups;
+import fr.uga.l3miage.library.lookup.SerializedResponseCache;
 import fr.uga.l3miage.library.service.AuthorService;
 import fr.uga.l3miage.library.service.EntityNotFoundException;
 
@@ -18,49 +20,68 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(value = "/api/v1", produces = "application/json")
 public class AuthorsController {
 
     private final AuthorService authorService;
+    private final CatalogueLookups lookups;
+    private final SerializedResponseCache responses;
     private final AuthorMapper authorMapper;
     private final BooksMapper booksMapper;
 
     @Autowired
-    public AuthorsController(AuthorService authorService, AuthorMapper authorMapper, BooksMapper booksMapper) {
+    public AuthorsController(AuthorService authorService, CatalogueLookups lookups, SerializedResponseCache responses,
+                             AuthorMapper authorMapper, BooksMapper booksMapper) {
         this.authorService = authorService;
+        this.lookups = lookups;
+        this.responses = responses;
         this.authorMapper = authorMapper;
         this.booksMapper = booksMapper;
     }
 
+    //with fuzzy=1 the query tolerates typos and the closest authors come first
+    //the array is made of the JSON of each author as cached by SerializedResponseCache
     @GetMapping("/authors")
-    public Collection<AuthorDTO> authors(@RequestParam(value = "q", required = false) String query) {
+    public ResponseEntity<byte[]> authors(@RequestParam(value = "q", required = false) String query,
+                                          @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy) {
+        long token = responses.token();
         Collection<Author> authors;
         if (query == null) {
-            authors = authorService.list();
+            authors = lookups.listAuthors();
+        } else if (fuzzy) {
+            authors = lookups.searchAuthorsFuzzy(query);
         } else {
-            authors = authorService.searchByName(query);
+            authors = lookups.searchAuthors(query);
         }
-        return authors.stream()
-                .map(authorMapper::entityToDTO)
-                .toList();
+        return json(SerializedResponseCache.array(authors.stream()
+                .map(author -> responses.author(author, token))
+                .toList()));
     }
 
-    //get an author with a specified id
+    //get an author with a specified id, a miss is answered without going through an exception
+    //an unchanged author is answered with the JSON cached by a previous read, without mapping nor serializing it
     @GetMapping("/authors/{id}")
-    public AuthorDTO author(@PathVariable Long id) throws EntityNotFoundException {
-        try{
-            Author author = this.authorService.get(id);
-            return authorMapper.entityToDTO(author);
-        }
-        catch(EntityNotFoundException e){
-            throw e;
-        }
+    public ResponseEntity<byte[]> author(@PathVariable Long id) {
+        return Optional.ofNullable(responses.author(id))
+                .or(() -> {
+                    long token = responses.token();
+                    return this.lookups.findAuthor(id).map(author -> responses.author(author, token));
+                })
+                .map(AuthorsController::json)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
@@ -105,8 +126,12 @@ public class AuthorsController {
         // unimplemented... yet!
     }
 
-    public Collection<BookDTO> books(Long authorId) {
-        return Collections.emptyList();
+    //without q every book of the author matches, the result is cached until one of the author's books changes
+    @GetMapping("/authors/{id}/books")
+    public Collection<BookDTO> books(@PathVariable("id") Long authorId,
+                                     @RequestParam(value = "q", defaultValue = "") String query)
+            throws EntityNotFoundException {
+        return booksMapper.entityToDTO(lookups.findBooksByAuthor(authorId, query));
     }
 
 }
@@ -1,14 +1,20 @@
 package fr.uga.l3miage.library.books;
 
 import fr.uga.l3miage.library.authors.AuthorDTO;
+import fr.uga.l3miage.library.lookup.CatalogueLookups;
+import fr.uga.l3miage.library.lookup.SerializedResponseCache;
 import fr.uga.l3miage.library.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collection;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(value = "/api", produces = "application/json")
@@ -16,20 +22,34 @@ public class BooksController {
 
     private final BookService bookService;
     private final BooksMapper booksMapper;
+    private final CatalogueLookups lookups;
+    private final SerializedResponseCache responses;
 
     @Autowired
-    public BooksController(BookService bookService, BooksMapper booksMapper) {
+    public BooksController(BookService bookService, BooksMapper booksMapper, CatalogueLookups lookups,
+                           SerializedResponseCache responses) {
        this.bookService = bookService;
         this.booksMapper = booksMapper;
+        this.lookups = lookups;
+        this.responses = responses;
     }
 
-    @GetMapping("/books/v1")
-    public Collection<BookDTO> books(@RequestParam("q") String query) {
-        return null;
+    //without q every book matches, the result is cached until a book changes
+    @GetMapping("/v1/books")
+    public Collection<BookDTO> books(@RequestParam(value = "q", defaultValue = "") String query) {
+        return booksMapper.entityToDTO(lookups.findBooks(query));
     }
 
-    public BookDTO book(Long id) {
-        return null;
+    //an unchanged book is answered with the JSON cached by a previous read, without mapping nor serializing it
+    @GetMapping("/v1/books/{id}")
+    public ResponseEntity<byte[]> book(@PathVariable Long id) {
+        return Optional.ofNullable(responses.book(id))
+                .or(() -> {
+                    long token = responses.token();
+                    return lookups.findBook(id).map(book -> responses.book(book, token));
+                })
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     public BookDTO newBook(Long authorId, BookDTO book) {
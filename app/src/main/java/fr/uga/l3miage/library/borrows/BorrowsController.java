@@ -0,0 +1,76 @@
+package fr.uga.l3miage.library.borrows;
+
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.library.service.BorrowService;
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping(value = "/api/v1", produces = "application/json")
+public class BorrowsController {
+
+    private final BorrowService borrowService;
+
+    @Autowired
+    public BorrowsController(BorrowService borrowService) {
+        this.borrowService = borrowService;
+    }
+
+    //records the books taken out together, they feed the recommendations
+    @PostMapping("/borrows")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BorrowDTO newBorrow(@RequestBody BorrowDTO borrowDTO) throws EntityNotFoundException {
+        if (borrowDTO.bookIds() == null || borrowDTO.bookIds().isEmpty()) {
+            throw new IllegalArgumentException("A borrow needs at least one book.");
+        }
+        Set<Book> books = new HashSet<>();
+        for (Long bookId : borrowDTO.bookIds()) {
+            Book book = new Book();
+            book.setId(bookId);
+            books.add(book);
+        }
+        Borrow borrow = new Borrow();
+        borrow.setBooks(books);
+        borrow.setStart(borrowDTO.start());
+        borrow.setEnd(borrowDTO.end());
+        return toDTO(borrowService.save(borrow));
+    }
+
+    @GetMapping("/borrows/{id}")
+    public ResponseEntity<BorrowDTO> borrow(@PathVariable Long id) {
+        return borrowService.find(id)
+                .map(BorrowsController::toDTO)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handleEntityNotFoundException(EntityNotFoundException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    private static BorrowDTO toDTO(Borrow borrow) {
+        return new BorrowDTO(borrow.getId(), borrow.getBooks().stream().map(Book::getId).toList(),
+                borrow.getStart(), borrow.getEnd());
+    }
+}
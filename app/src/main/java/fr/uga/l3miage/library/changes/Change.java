@@ -0,0 +1,26 @@
+package fr.uga.l3miage.library.changes;
+
+import fr.uga.l3miage.library.service.CatalogueEvent;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * A catalogue mutation as exposed by the change feed.
+ *
+ * @param sequence  position of the change in the feed, strictly increasing, used to resume
+ * @param timestamp when the change was recorded
+ */
+public record Change(
+        long sequence,
+        Instant timestamp,
+        CatalogueEvent.Entity entity,
+        CatalogueEvent.Action action,
+        Long id,
+        Collection<Long> authorIds
+) {
+
+    static Change of(long sequence, CatalogueEvent event) {
+        return new Change(sequence, Instant.now(), event.entity(), event.action(), event.id(), event.authorIds());
+    }
+}
@@ -0,0 +1,166 @@
+package fr.uga.l3miage.library.changes;
+
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded ring buffer of the latest catalogue changes.
+ * <p>
+ * Writers only copy the event into the buffer and wake up the dispatcher thread, subscribers are served from that
+ * thread so a slow consumer never blocks a service call. A consumer that falls further behind than the buffer
+ * capacity is told to resync instead of being waited for.
+ */
+@Component
+public class ChangeFeed implements DisposableBean {
+
+    private final Change[] buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "change-feed-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    // sequence of the last appended change, 0 when the feed is empty
+    private long lastSequence;
+
+    public ChangeFeed(@Value("${library.changes.capacity:4096}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.buffer = new Change[capacity];
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        append(event);
+    }
+
+    Change append(CatalogueEvent event) {
+        Change change;
+        synchronized (buffer) {
+            change = Change.of(lastSequence + 1, event);
+            buffer[(int) (change.sequence() % buffer.length)] = change;
+            lastSequence = change.sequence();
+        }
+        if (!subscribers.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+        return change;
+    }
+
+    /**
+     * Reads the changes following a sequence number.
+     *
+     * @param since sequence of the last change seen by the consumer, 0 to start from the oldest retained change
+     * @param limit maximum number of changes to return
+     * @return the changes or a resync marker when some of them were already overwritten, or when the consumer is
+     * ahead of the feed: sequences restart from 1 with the application, its position belongs to a previous run
+     */
+    public Page readSince(long since, int limit) {
+        synchronized (buffer) {
+            long oldest = Math.max(1, lastSequence - buffer.length + 1);
+            if (since > 0 && since + 1 < oldest || since > lastSequence) {
+                return new Page(List.of(), lastSequence, true);
+            }
+            List<Change> changes = new ArrayList<>();
+            for (long seq = Math.max(since + 1, oldest); seq <= lastSequence && changes.size() < limit; seq++) {
+                changes.add(buffer[(int) (seq % buffer.length)]);
+            }
+            return new Page(changes, lastSequence, false);
+        }
+    }
+
+    /**
+     * @return the number of changes retained, a consumer further behind has to resync
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public long lastSequence() {
+        synchronized (buffer) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Registers a consumer notified from the dispatcher thread.
+     * The subscriber is dropped once it needs a resync or returns {@code false}.
+     */
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        for (Subscriber subscriber : subscribers) {
+            Page page = readSince(subscriber.cursor(), buffer.length);
+            boolean keep = false;
+            try {
+                if (page.resync()) {
+                    subscriber.resync(page.lastSequence());
+                } else {
+                    keep = subscriber.deliver(page.changes());
+                }
+            } catch (RuntimeException e) {
+                // a failing consumer is dropped like a slow one
+            }
+            if (!keep) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * @param changes      changes in sequence order
+     * @param lastSequence sequence of the newest change in the feed
+     * @param resync       true when the consumer fell behind the retained window and must reload the catalogue
+     */
+    public record Page(List<Change> changes, long lastSequence, boolean resync) {
+    }
+
+    public interface Subscriber {
+
+        /**
+         * @return sequence of the last change delivered to this subscriber
+         */
+        long cursor();
+
+        /**
+         * Called from the dispatcher thread shared by all the subscribers, must not block.
+         *
+         * @param changes changes following {@link #cursor()}, possibly empty
+         * @return false to be unsubscribed
+         */
+        boolean deliver(List<Change> changes);
+
+        /**
+         * Called once when the subscriber fell behind the retained window, it is unsubscribed afterwards.
+         */
+        void resync(long lastSequence);
+    }
+}
@@ -0,0 +1,129 @@
+package fr.uga.l3miage.library.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+public class ChangeFeedController implements DisposableBean {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String NEXT_SEQUENCE = "X-Next-Sequence";
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    // writes the event streams, one task per stream with events to send
+    private final ExecutorService senders = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "change-feed-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ChangeFeedController(ChangeFeed changeFeed, ObjectMapper objectMapper) {
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Long-poll: returns the changes following {@code since} as NDJSON, or waits up to {@code timeout} ms for one.
+     * Answers 410 when the consumer fell behind the retained window and has to reload the catalogue.
+     */
+    @GetMapping(produces = NDJSON)
+    public DeferredResult<ResponseEntity<String>> changes(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                          @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                          @RequestParam(value = "timeout", defaultValue = "30000") long timeout) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        DeferredResult<ResponseEntity<String>> result = new DeferredResult<>(timeout, () -> page(since, List.of()));
+        ChangeFeed.Page page = changeFeed.readSince(since, max);
+        if (page.resync()) {
+            result.setResult(gone(page.lastSequence()));
+        } else if (!page.changes().isEmpty() || timeout <= 0) {
+            result.setResult(page(since, page.changes()));
+        } else {
+            ChangeFeed.Subscriber waiter = new ChangeFeed.Subscriber() {
+                @Override
+                public long cursor() {
+                    return since;
+                }
+
+                @Override
+                public boolean deliver(List<Change> changes) {
+                    if (changes.isEmpty()) {
+                        return !result.isSetOrExpired();
+                    }
+                    result.setResult(page(since, changes.size() > max ? changes.subList(0, max) : changes));
+                    return false;
+                }
+
+                @Override
+                public void resync(long lastSequence) {
+                    result.setResult(gone(lastSequence));
+                }
+            };
+            result.onCompletion(() -> changeFeed.unsubscribe(waiter));
+            changeFeed.subscribe(waiter);
+        }
+        return result;
+    }
+
+    /**
+     * Server-sent events, resumable through the standard {@code Last-Event-ID} header.
+     * A {@code resync} event is sent before closing the stream of a consumer that fell behind.
+     */
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public SseEmitter stream(@RequestParam(value = "since", required = false) Long since,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        long start = lastEventId != null ? lastEventId : since != null ? since : changeFeed.lastSequence();
+        ChangeFeed.Subscriber subscriber = new SseSubscriber(emitter, senders, changeFeed.capacity(), start);
+        emitter.onCompletion(() -> changeFeed.unsubscribe(subscriber));
+        emitter.onError(e -> changeFeed.unsubscribe(subscriber));
+        changeFeed.subscribe(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+    }
+
+    private ResponseEntity<String> page(long since, List<Change> changes) {
+        StringBuilder body = new StringBuilder();
+        for (Change change : changes) {
+            try {
+                body.append(objectMapper.writeValueAsString(change)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence();
+        return ResponseEntity.ok()
+                .header(NEXT_SEQUENCE, Long.toString(next))
+                .body(body.toString());
+    }
+
+    private static ResponseEntity<String> gone(long lastSequence) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .header(NEXT_SEQUENCE, Long.toString(lastSequence))
+                .body("change feed position expired, reload the catalogue and resume from " + lastSequence);
+    }
+}
@@ -0,0 +1,109 @@
+package fr.uga.l3miage.library.changes;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent events subscriber: the dispatcher only queues the events, they are written to the client by a task of
+ * the sender executor, so a client that stops reading never holds up the other subscribers. A client whose queue is
+ * full is as far behind as the feed retains, it is dropped.
+ * <p>
+ * The emitter is only used from the sender task: its methods lock it, the dispatcher would otherwise wait for a
+ * blocked send to complete the stream.
+ */
+class SseSubscriber implements ChangeFeed.Subscriber {
+
+    private final SseEmitter emitter;
+    private final Executor senders;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> events;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    // set once no event is to be queued any more, the stream is completed after the queued ones
+    private volatile boolean last;
+    private volatile Exception failure;
+    private volatile boolean done;
+    // only used by the dispatcher
+    private long cursor;
+
+    SseSubscriber(SseEmitter emitter, Executor senders, int capacity, long cursor) {
+        this.emitter = emitter;
+        this.senders = senders;
+        this.events = new ArrayBlockingQueue<>(capacity);
+        this.cursor = cursor;
+    }
+
+    @Override
+    public long cursor() {
+        return cursor;
+    }
+
+    @Override
+    public boolean deliver(List<Change> changes) {
+        if (failure != null || done) {
+            return false;
+        }
+        for (Change change : changes) {
+            if (!queue(SseEmitter.event().id(Long.toString(change.sequence())).name("change").data(change))) {
+                return false;
+            }
+            cursor = change.sequence();
+        }
+        send();
+        return true;
+    }
+
+    @Override
+    public void resync(long lastSequence) {
+        if (queue(SseEmitter.event().name("resync").data(lastSequence))) {
+            last = true;
+            send();
+        }
+    }
+
+    private boolean queue(SseEmitter.SseEventBuilder event) {
+        if (events.offer(event)) {
+            return true;
+        }
+        failure = new IOException("change stream consumer too slow");
+        events.clear();
+        send();
+        return false;
+    }
+
+    private void send() {
+        if (sending.compareAndSet(false, true)) {
+            senders.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!done && failure == null && (event = events.poll()) != null) {
+                emitter.send(event);
+            }
+            if (!done && failure != null) {
+                done = true;
+                emitter.completeWithError(failure);
+            } else if (!done && last && events.isEmpty()) {
+                done = true;
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            failure = e;
+            done = true;
+            emitter.completeWithError(e);
+        } finally {
+            sending.set(false);
+        }
+        // something queued or failed after the checks above but before the flag was reset
+        if (!done && (failure != null || last || !events.isEmpty())) {
+            send();
+        }
+    }
+}
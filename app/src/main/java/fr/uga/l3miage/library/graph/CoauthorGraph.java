@@ -0,0 +1,367 @@
+package fr.uga.l3miage.library.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The bipartite author/book graph kept as primitive adjacency arrays indexed by dense node numbers,
+ * so that traversals do not touch the domain objects nor box ids.
+ * <p>
+ * Reads run concurrently, updates are serialized by a read/write lock.
+ */
+public class CoauthorGraph {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Nodes authors = new Nodes();
+    private final Nodes books = new Nodes();
+    private long edges;
+
+    public void addAuthor(long authorId) {
+        lock.writeLock().lock();
+        try {
+            authors.add(authorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void link(long authorId, long bookId) {
+        lock.writeLock().lock();
+        try {
+            doLink(authorId, bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the authors of a book.
+     */
+    public void relink(long bookId, Iterable<Long> authorIds) {
+        lock.writeLock().lock();
+        try {
+            doRemoveBook(bookId);
+            for (Long authorId : authorIds) {
+                doLink(authorId, bookId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBook(long bookId) {
+        lock.writeLock().lock();
+        try {
+            doRemoveBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an author and the books left without author.
+     */
+    public void removeAuthor(long authorId) {
+        lock.writeLock().lock();
+        try {
+            int author = authors.indexOf(authorId);
+            if (author < 0) {
+                return;
+            }
+            int[] authorBooks = authors.adjacency[author];
+            for (int i = 0; i < authors.degree[author]; i++) {
+                int book = authorBooks[i];
+                books.removeEdge(book, author);
+                edges--;
+                if (books.degree[book] == 0) {
+                    books.remove(book);
+                }
+            }
+            authors.remove(author);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsAuthor(long authorId) {
+        lock.readLock().lock();
+        try {
+            return authors.indexOf(authorId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the authors having written at least one book with the given author, null if the author is unknown
+     */
+    public long[] coauthors(long authorId) {
+        lock.readLock().lock();
+        try {
+            int author = authors.indexOf(authorId);
+            if (author < 0) {
+                return null;
+            }
+            IntIntMap seen = new IntIntMap(16);
+            seen.putIfAbsent(author, author);
+            long[] result = new long[8];
+            int size = 0;
+            for (int i = 0; i < authors.degree[author]; i++) {
+                int book = authors.adjacency[author][i];
+                for (int j = 0; j < books.degree[book]; j++) {
+                    int coauthor = books.adjacency[book][j];
+                    if (seen.putIfAbsent(coauthor, author)) {
+                        if (size == result.length) {
+                            result = Arrays.copyOf(result, size * 2);
+                        }
+                        result[size++] = authors.ids[coauthor];
+                    }
+                }
+            }
+            return Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Shortest chain of co-authorships between two authors, found by a BFS running from both ends and always
+     * expanding the smallest frontier.
+     *
+     * @return author ids from {@code fromId} to {@code toId} included, null if they are unknown or not connected
+     */
+    public long[] shortestPath(long fromId, long toId) {
+        lock.readLock().lock();
+        try {
+            int from = authors.indexOf(fromId);
+            int to = authors.indexOf(toId);
+            if (from < 0 || to < 0) {
+                return null;
+            }
+            if (from == to) {
+                return new long[]{fromId};
+            }
+            IntIntMap forward = new IntIntMap(64);
+            IntIntMap backward = new IntIntMap(64);
+            forward.putIfAbsent(from, -1);
+            backward.putIfAbsent(to, -1);
+            Frontier forwardFrontier = new Frontier(from);
+            Frontier backwardFrontier = new Frontier(to);
+            while (forwardFrontier.size > 0 && backwardFrontier.size > 0) {
+                int meet;
+                if (forwardFrontier.size <= backwardFrontier.size) {
+                    meet = expand(forwardFrontier, forward, backward);
+                } else {
+                    meet = expand(backwardFrontier, backward, forward);
+                }
+                if (meet >= 0) {
+                    return path(meet, forward, backward);
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ComponentStats componentStats() {
+        lock.readLock().lock();
+        try {
+            boolean[] seen = new boolean[authors.highWater];
+            int[] queue = new int[authors.highWater];
+            int components = 0;
+            int largest = 0;
+            int isolated = 0;
+            for (int start = 0; start < authors.highWater; start++) {
+                if (authors.adjacency[start] == null || seen[start]) {
+                    continue;
+                }
+                components++;
+                if (authors.degree[start] == 0) {
+                    isolated++;
+                }
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = start;
+                seen[start] = true;
+                while (head < tail) {
+                    int author = queue[head++];
+                    for (int i = 0; i < authors.degree[author]; i++) {
+                        int book = authors.adjacency[author][i];
+                        for (int j = 0; j < books.degree[book]; j++) {
+                            int coauthor = books.adjacency[book][j];
+                            if (!seen[coauthor]) {
+                                seen[coauthor] = true;
+                                queue[tail++] = coauthor;
+                            }
+                        }
+                    }
+                }
+                largest = Math.max(largest, tail);
+            }
+            return new ComponentStats(authors.size(), books.size(), edges, components, largest, isolated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void doLink(long authorId, long bookId) {
+        int author = authors.add(authorId);
+        int book = books.add(bookId);
+        if (authors.addEdge(author, book)) {
+            books.addEdge(book, author);
+            edges++;
+        }
+    }
+
+    private void doRemoveBook(long bookId) {
+        int book = books.indexOf(bookId);
+        if (book < 0) {
+            return;
+        }
+        for (int i = 0; i < books.degree[book]; i++) {
+            authors.removeEdge(books.adjacency[book][i], book);
+        }
+        edges -= books.degree[book];
+        books.remove(book);
+    }
+
+    /**
+     * Visits the next level of a frontier, recording parents in {@code visited}.
+     *
+     * @return the first author also reached from the other end, or -1
+     */
+    private int expand(Frontier frontier, IntIntMap visited, IntIntMap other) {
+        int[] next = new int[Math.max(4, frontier.size)];
+        int nextSize = 0;
+        for (int f = 0; f < frontier.size; f++) {
+            int author = frontier.nodes[f];
+            for (int i = 0; i < authors.degree[author]; i++) {
+                int book = authors.adjacency[author][i];
+                for (int j = 0; j < books.degree[book]; j++) {
+                    int coauthor = books.adjacency[book][j];
+                    if (visited.putIfAbsent(coauthor, author)) {
+                        if (other.containsKey(coauthor)) {
+                            return coauthor;
+                        }
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = coauthor;
+                    }
+                }
+            }
+        }
+        frontier.nodes = next;
+        frontier.size = nextSize;
+        return -1;
+    }
+
+    private long[] path(int meet, IntIntMap forward, IntIntMap backward) {
+        int[] head = new int[forward.size()];
+        int headSize = 0;
+        for (int node = meet; node >= 0; node = forward.get(node)) {
+            head[headSize++] = node;
+        }
+        int[] tail = new int[backward.size()];
+        int tailSize = 0;
+        for (int node = backward.get(meet); node >= 0; node = backward.get(node)) {
+            tail[tailSize++] = node;
+        }
+        long[] path = new long[headSize + tailSize];
+        for (int i = 0; i < headSize; i++) {
+            path[i] = authors.ids[head[headSize - 1 - i]];
+        }
+        for (int i = 0; i < tailSize; i++) {
+            path[headSize + i] = authors.ids[tail[i]];
+        }
+        return path;
+    }
+
+    private static final class Frontier {
+        int[] nodes;
+        int size;
+
+        Frontier(int start) {
+            nodes = new int[]{start};
+            size = 1;
+        }
+    }
+
+    /**
+     * One side of the bipartite graph: dense node numbers, recycled on removal, each with its adjacency array.
+     */
+    private static final class Nodes {
+        final Map<Long, Integer> index = new HashMap<>();
+        long[] ids = new long[16];
+        int[][] adjacency = new int[16][];
+        int[] degree = new int[16];
+        int highWater;
+        int[] free = new int[16];
+        int freeCount;
+
+        int indexOf(long id) {
+            Integer node = index.get(id);
+            return node == null ? -1 : node;
+        }
+
+        int add(long id) {
+            Integer existing = index.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            int node = freeCount > 0 ? free[--freeCount] : highWater++;
+            if (node == ids.length) {
+                ids = Arrays.copyOf(ids, node * 2);
+                adjacency = Arrays.copyOf(adjacency, node * 2);
+                degree = Arrays.copyOf(degree, node * 2);
+            }
+            ids[node] = id;
+            adjacency[node] = new int[2];
+            degree[node] = 0;
+            index.put(id, node);
+            return node;
+        }
+
+        void remove(int node) {
+            index.remove(ids[node]);
+            adjacency[node] = null;
+            degree[node] = 0;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = node;
+        }
+
+        boolean addEdge(int node, int other) {
+            int[] edges = adjacency[node];
+            for (int i = 0; i < degree[node]; i++) {
+                if (edges[i] == other) {
+                    return false;
+                }
+            }
+            if (degree[node] == edges.length) {
+                adjacency[node] = edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[degree[node]++] = other;
+            return true;
+        }
+
+        void removeEdge(int node, int other) {
+            int[] edges = adjacency[node];
+            for (int i = 0; i < degree[node]; i++) {
+                if (edges[i] == other) {
+                    edges[i] = edges[--degree[node]];
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return index.size();
+        }
+    }
+}
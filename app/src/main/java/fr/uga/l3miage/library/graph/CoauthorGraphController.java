@@ -0,0 +1,67 @@
+package fr.uga.l3miage.library.graph;
+
+import fr.uga.l3miage.library.authors.AuthorDTO;
+import fr.uga.l3miage.library.authors.AuthorMapper;
+import fr.uga.l3miage.library.lookup.CatalogueLookups;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/v1", produces = "application/json")
+public class CoauthorGraphController {
+
+    private final CoauthorGraph graph;
+    private final CatalogueLookups lookups;
+    private final AuthorMapper authorMapper;
+
+    @Autowired
+    public CoauthorGraphController(CoauthorGraphUpdater updater, CatalogueLookups lookups, AuthorMapper authorMapper) {
+        this.graph = updater.graph();
+        this.lookups = lookups;
+        this.authorMapper = authorMapper;
+    }
+
+    @GetMapping("/authors/{id}/coauthors")
+    public ResponseEntity<Collection<AuthorDTO>> coauthors(@PathVariable Long id) {
+        long[] coauthors = graph.coauthors(id);
+        if (coauthors == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toDTOs(coauthors));
+    }
+
+    /**
+     * Shortest chain of co-authors from one author to another, both included.
+     * The degree of separation is the size of the chain minus one.
+     */
+    @GetMapping("/authors/{from}/path/{to}")
+    public ResponseEntity<Collection<AuthorDTO>> path(@PathVariable Long from, @PathVariable Long to) {
+        long[] path = graph.shortestPath(from, to);
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toDTOs(path));
+    }
+
+    @GetMapping("/graph/components")
+    public ComponentStats components() {
+        return graph.componentStats();
+    }
+
+    private Collection<AuthorDTO> toDTOs(long[] authorIds) {
+        List<AuthorDTO> authors = new ArrayList<>(authorIds.length);
+        for (long authorId : authorIds) {
+            // skips authors deleted since the graph was read
+            lookups.findAuthor(authorId).map(authorMapper::entityToDTO).ifPresent(authors::add);
+        }
+        return authors;
+    }
+}
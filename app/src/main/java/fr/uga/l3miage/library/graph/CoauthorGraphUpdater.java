@@ -0,0 +1,63 @@
+package fr.uga.l3miage.library.graph;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the co-author graph at startup and keeps it up to date with the catalogue events.
+ */
+@Component
+public class CoauthorGraphUpdater {
+
+    private final CoauthorGraph graph = new CoauthorGraph();
+    private final AuthorService authorService;
+
+    @Autowired
+    public CoauthorGraphUpdater(AuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    public CoauthorGraph graph() {
+        return graph;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Author author : authorService.list()) {
+            graph.addAuthor(author.getId());
+            if (author.getBooks() != null) {
+                for (Book book : author.getBooks()) {
+                    graph.link(author.getId(), book.getId());
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        switch (event.entity()) {
+            case AUTHOR -> {
+                switch (event.action()) {
+                    case SAVED, UPDATED -> graph.addAuthor(event.id());
+                    case DELETED -> graph.removeAuthor(event.id());
+                    default -> {
+                        // authors are added to books through book events
+                    }
+                }
+            }
+            case BOOK -> {
+                switch (event.action()) {
+                    case SAVED, AUTHOR_ADDED -> event.authorIds().forEach(authorId -> graph.link(authorId, event.id()));
+                    case UPDATED -> graph.relink(event.id(), event.authorIds());
+                    case DELETED -> graph.removeBook(event.id());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fr.uga.l3miage.library.graph;
+
+/**
+ * Connected components of the co-author graph, two authors being connected when they wrote a book together.
+ *
+ * @param components       number of connected components, isolated authors included
+ * @param largestComponent number of authors in the largest component
+ * @param isolatedAuthors  authors without any book
+ */
+public record ComponentStats(
+        int authors,
+        int books,
+        long edges,
+        int components,
+        int largestComponent,
+        int isolatedAuthors
+) {
+}
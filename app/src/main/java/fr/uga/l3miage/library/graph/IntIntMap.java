@@ -0,0 +1,76 @@
+package fr.uga.l3miage.library.graph;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing map from non-negative int keys to int values, used for per-query bookkeeping
+ * without boxing.
+ */
+class IntIntMap {
+
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    IntIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    boolean containsKey(int key) {
+        return keys[slot(keys, key)] == key;
+    }
+
+    int get(int key) {
+        int slot = slot(keys, key);
+        return keys[slot] == key ? values[slot] : FREE;
+    }
+
+    /**
+     * @return true when the key was not present
+     */
+    boolean putIfAbsent(int key, int value) {
+        int slot = slot(keys, key);
+        if (keys[slot] == key) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 1 & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
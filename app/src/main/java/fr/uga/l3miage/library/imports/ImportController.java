@@ -0,0 +1,66 @@
+package fr.uga.l3miage.library.imports;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+
+@RestController
+@RequestMapping(value = "/api/v1/imports", produces = "application/json")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Autowired
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Starts the import of a catalogue file sent as the request body, see {@link ImportFormat} for the formats.
+     * The body is spooled to a temporary file so that the request does not wait for the import.
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportJob.Status> newImport(HttpServletRequest request) throws IOException {
+        ImportFormat format = request.getContentType().startsWith("text/csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+        Path file = Files.createTempFile("library-import-", "." + format.name().toLowerCase());
+        try (InputStream body = request.getInputStream()) {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = importService.submit(file, format);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/imports/" + job.getId()))
+                .body(job.status());
+    }
+
+    @GetMapping
+    public Collection<ImportJob.Status> imports() {
+        return importService.list().stream()
+                .map(ImportJob::status)
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob.Status> importStatus(@PathVariable long id) {
+        return importService.find(id)
+                .map(ImportJob::status)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
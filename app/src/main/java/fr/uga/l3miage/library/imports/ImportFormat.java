@@ -0,0 +1,14 @@
+package fr.uga.l3miage.library.imports;
+
+/**
+ * Supported catalogue files, one book per line.
+ * <ul>
+ *     <li>CSV: {@code title,isbn,publisher,year,language,authors} with an optional header line, authors separated
+ *     by {@code |}, fields may be double-quoted</li>
+ *     <li>NDJSON: one object per line with the same fields, {@code authors} being an array of full names</li>
+ * </ul>
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,105 @@
+package fr.uga.l3miage.library.imports;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of an import, updated by the pipeline threads.
+ */
+public class ImportJob {
+
+    private final long id;
+    private final ImportFormat format;
+    private final Instant submitted = Instant.now();
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong booksImported = new AtomicLong();
+    private final AtomicLong authorsCreated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile State state = State.QUEUED;
+    private volatile Instant started;
+    private volatile Instant finished;
+    private volatile String error;
+    private volatile String firstRejection;
+
+    ImportJob(long id, ImportFormat format) {
+        this.id = id;
+        this.format = format;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    void running() {
+        started = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void completed() {
+        finished = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(Throwable cause) {
+        finished = Instant.now();
+        error = cause.toString();
+        state = State.FAILED;
+    }
+
+    void linesRead(int count) {
+        linesRead.addAndGet(count);
+    }
+
+    void booksImported(int count) {
+        booksImported.addAndGet(count);
+    }
+
+    void authorsCreated(int count) {
+        authorsCreated.addAndGet(count);
+    }
+
+    void rejected(long line, String reason) {
+        if (rejected.getAndIncrement() == 0) {
+            firstRejection = "line " + line + ": " + reason;
+        }
+    }
+
+    public Status status() {
+        Instant start = started;
+        Instant end = finished != null ? finished : Instant.now();
+        long elapsedMillis = start == null ? 0 : Duration.between(start, end).toMillis();
+        long imported = booksImported.get();
+        return new Status(id, format, state, submitted, start, finished, linesRead.get(), imported,
+                authorsCreated.get(), rejected.get(), elapsedMillis == 0 ? 0 : imported * 1000.0 / elapsedMillis,
+                firstRejection, error);
+    }
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * @param booksPerSecond throughput since the job started
+     * @param firstRejection reason why the first invalid line was rejected
+     */
+    public record Status(
+            long id,
+            ImportFormat format,
+            State state,
+            Instant submitted,
+            Instant started,
+            Instant finished,
+            long linesRead,
+            long booksImported,
+            long authorsCreated,
+            long rejected,
+            double booksPerSecond,
+            String firstRejection,
+            String error
+    ) {
+    }
+}
@@ -0,0 +1,117 @@
+package fr.uga.l3miage.library.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.data.domain.Book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses and validates one line of an import file, stateless and thread-safe.
+ */
+class ImportParser {
+
+    private static final String CSV_HEADER = "title,isbn,publisher,year,language,authors";
+
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    ImportParser(ImportFormat format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the record, or null for a line to skip (blank line or CSV header)
+     * @throws IllegalArgumentException when the line is invalid
+     */
+    ImportRecord parse(String line) {
+        if (line.isBlank() || format == ImportFormat.CSV && line.trim().toLowerCase(Locale.ROOT).startsWith(CSV_HEADER)) {
+            return null;
+        }
+        return format == ImportFormat.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    private ImportRecord parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 6) {
+            throw new IllegalArgumentException("expected 6 fields, got " + fields.size());
+        }
+        List<String> authors = Arrays.stream(fields.get(5).split("\\|")).toList();
+        return validate(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4), authors);
+    }
+
+    private ImportRecord parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getMessage(), e);
+        }
+        List<String> authors = new ArrayList<>();
+        node.path("authors").forEach(author -> authors.add(author.asText()));
+        return validate(node.path("title").asText(null), node.path("isbn").asText(null),
+                node.path("publisher").asText(null), node.path("year").asText(null),
+                node.path("language").asText(null), authors);
+    }
+
+    private static ImportRecord validate(String title, String isbn, String publisher, String year, String language,
+                                         List<String> authors) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("title is mandatory");
+        }
+        List<String> authorNames = authors.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        if (authorNames.isEmpty()) {
+            // a book cannot be created without author
+            throw new IllegalArgumentException("at least one author is mandatory");
+        }
+        try {
+            return new ImportRecord(
+                    title.trim(),
+                    isbn == null || isbn.isBlank() ? 0 : Long.parseLong(isbn.trim()),
+                    publisher == null || publisher.isBlank() ? null : publisher.trim(),
+                    year == null || year.isBlank() ? 0 : Short.parseShort(year.trim()),
+                    // same default as the REST API
+                    language == null || language.isBlank() ? Book.Language.FRENCH
+                            : Book.Language.valueOf(language.trim().toUpperCase(Locale.ROOT)),
+                    authorNames);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid field: " + e.getMessage(), e);
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,30 @@
+package fr.uga.l3miage.library.imports;
+
+import fr.uga.l3miage.data.domain.Book;
+
+import java.util.List;
+
+/**
+ * A validated line of an import file.
+ *
+ * @param authors full names of the authors, at least one
+ */
+record ImportRecord(
+        String title,
+        long isbn,
+        String publisher,
+        short year,
+        Book.Language language,
+        List<String> authors
+) {
+
+    Book toBook() {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setIsbn(isbn);
+        book.setPublisher(publisher);
+        book.setYear(year);
+        book.setLanguage(language);
+        return book;
+    }
+}
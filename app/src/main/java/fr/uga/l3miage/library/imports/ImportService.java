@@ -0,0 +1,284 @@
+package fr.uga.l3miage.library.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.BookService;
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs catalogue imports in the background, one job at a time so that author deduplication holds across jobs.
+ * <p>
+ * A job is a pipeline: one thread reads the file by chunks of lines, several threads parse and validate the chunks,
+ * and the job thread writes them in batches to the services. Stages are connected by bounded queues, a slow stage
+ * blocks the previous ones instead of buffering the file in memory.
+ * <p>
+ * Finished jobs, completed or failed, are forgotten after {@code library.imports.retention}.
+ */
+@Component
+public class ImportService implements DisposableBean {
+
+    // end of stream markers, compared by identity
+    private static final Chunk END_OF_LINES = new Chunk(-1, List.of());
+    private static final List<ImportRecord> END_OF_RECORDS = List.of();
+
+    private final AuthorService authorService;
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int parsers;
+    private final Duration retention;
+
+    private final Map<Long, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(daemon("import-job"));
+    private final ExecutorService stageExecutor = Executors.newCachedThreadPool(daemon("import-stage"));
+    private final ScheduledExecutorService retirements =
+            Executors.newSingleThreadScheduledExecutor(daemon("import-retention"));
+
+    @Autowired
+    public ImportService(AuthorService authorService, BookService bookService, ObjectMapper objectMapper,
+                         @Value("${library.imports.chunk-size:1000}") int chunkSize,
+                         @Value("${library.imports.queue-capacity:16}") int queueCapacity,
+                         @Value("${library.imports.parsers:0}") int parsers,
+                         @Value("${library.imports.retention:1h}") Duration retention) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.parsers = parsers > 0 ? parsers : Runtime.getRuntime().availableProcessors();
+        this.retention = retention;
+    }
+
+    /**
+     * Queues the import of a file, the file is deleted once imported.
+     */
+    public ImportJob submit(Path file, ImportFormat format) {
+        ImportJob job = new ImportJob(nextJobId.getAndIncrement(), format);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> run(job, file, new ImportParser(format, objectMapper)));
+        return job;
+    }
+
+    public Optional<ImportJob> find(long id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return the jobs queued, running, or finished less than the retention ago
+     */
+    public Collection<ImportJob> list() {
+        return jobs.values();
+    }
+
+    private void run(ImportJob job, Path file, ImportParser parser) {
+        job.running();
+        BlockingQueue<Chunk> lines = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<ImportRecord>> records = new ArrayBlockingQueue<>(queueCapacity);
+        List<Future<?>> stages = new ArrayList<>();
+        try {
+            stages.add(stageExecutor.submit(() -> read(file, job, lines)));
+            for (int i = 0; i < parsers; i++) {
+                stages.add(stageExecutor.submit(() -> parse(parser, job, lines, records)));
+            }
+            write(job, records);
+            for (Future<?> stage : stages) {
+                stage.get();
+            }
+            job.completed();
+        } catch (ExecutionException e) {
+            job.failed(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.failed(e);
+        } catch (RuntimeException | EntityNotFoundException e) {
+            job.failed(e);
+        } finally {
+            stages.forEach(stage -> stage.cancel(true));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // left to the temporary directory cleanup
+            }
+            retire(job);
+        }
+    }
+
+    // the job no longer changes, its status can still be read for a while
+    private void retire(ImportJob job) {
+        retirements.schedule(() -> jobs.remove(job.getId(), job), retention.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Void read(Path file, ImportJob job, BlockingQueue<Chunk> lines) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 1;
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    lines.put(new Chunk(lineNumber, chunk));
+                    job.linesRead(chunk.size());
+                    lineNumber += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                lines.put(new Chunk(lineNumber, chunk));
+                job.linesRead(chunk.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            // even on failure, so that the next stages terminate; unless the job was cancelled, nobody takes them then
+            if (!Thread.currentThread().isInterrupted()) {
+                for (int i = 0; i < parsers; i++) {
+                    lines.put(END_OF_LINES);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Void parse(ImportParser parser, ImportJob job, BlockingQueue<Chunk> lines,
+                       BlockingQueue<List<ImportRecord>> records) throws InterruptedException {
+        try {
+            Chunk chunk;
+            while ((chunk = lines.take()) != END_OF_LINES) {
+                List<ImportRecord> parsed = new ArrayList<>(chunk.lines().size());
+                for (int i = 0; i < chunk.lines().size(); i++) {
+                    try {
+                        ImportRecord record = parser.parse(chunk.lines().get(i));
+                        if (record != null) {
+                            parsed.add(record);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        job.rejected(chunk.firstLine() + i, e.getMessage());
+                    }
+                }
+                records.put(parsed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            if (!Thread.currentThread().isInterrupted()) {
+                records.put(END_OF_RECORDS);
+            }
+        }
+        return null;
+    }
+
+    private void write(ImportJob job, BlockingQueue<List<ImportRecord>> records)
+            throws InterruptedException, EntityNotFoundException {
+        Map<String, Long> authorIds = new HashMap<>();
+        for (Author author : authorService.list()) {
+            authorIds.putIfAbsent(author.getFullName(), author.getId());
+        }
+        int running = parsers;
+        while (running > 0) {
+            List<ImportRecord> batch = records.take();
+            if (batch == END_OF_RECORDS) {
+                running--;
+            } else if (!batch.isEmpty()) {
+                writeBatch(job, batch, authorIds);
+            }
+        }
+    }
+
+    private void writeBatch(ImportJob job, List<ImportRecord> batch, Map<String, Long> authorIds)
+            throws EntityNotFoundException {
+        Map<String, Author> newAuthors = new LinkedHashMap<>();
+        for (ImportRecord record : batch) {
+            for (String name : record.authors()) {
+                if (!authorIds.containsKey(name)) {
+                    newAuthors.computeIfAbsent(name, fullName -> {
+                        Author author = new Author();
+                        author.setFullName(fullName);
+                        return author;
+                    });
+                }
+            }
+        }
+        if (!newAuthors.isEmpty()) {
+            for (Author author : authorService.saveAll(newAuthors.values())) {
+                authorIds.put(author.getFullName(), author.getId());
+            }
+            job.authorsCreated(newAuthors.size());
+        }
+
+        // books are saved with their first author, the co-authors are added afterwards
+        Map<Long, List<Book>> booksByAuthor = new LinkedHashMap<>();
+        List<Book> books = new ArrayList<>(batch.size());
+        for (ImportRecord record : batch) {
+            Book book = record.toBook();
+            books.add(book);
+            booksByAuthor.computeIfAbsent(authorIds.get(record.authors().get(0)), id -> new ArrayList<>()).add(book);
+        }
+        for (Map.Entry<Long, List<Book>> entry : booksByAuthor.entrySet()) {
+            bookService.saveAll(entry.getKey(), entry.getValue());
+        }
+        Iterator<Book> saved = books.iterator();
+        for (ImportRecord record : batch) {
+            Book book = saved.next();
+            for (String coauthor : record.authors().subList(1, record.authors().size())) {
+                bookService.addAuthor(book.getId(), authorIds.get(coauthor));
+            }
+        }
+        job.booksImported(batch.size());
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        stageExecutor.shutdownNow();
+        retirements.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Chunk(long firstLine, List<String> lines) {
+    }
+}
@@ -0,0 +1,87 @@
+package fr.uga.l3miage.library.limits;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease, in the spirit of
+ * Netflix concurrency-limits: the limit grows by one while requests complete under the latency threshold and the
+ * limit is actually used, and shrinks by {@code backoffRatio} as soon as a request is too slow or failed.
+ * <p>
+ * Like TCP congestion control, the limit backs off at most once per window: the requests that were already in
+ * flight when it shrank are expected to be slow as well and do not shrink it again.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    // guarded by this
+    private long completions;
+    private long backoffUntil;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in ]0, 1[");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return true when the caller may proceed, it must then call {@link #release} exactly once
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * @param rttNanos time spent by the request since {@link #tryAcquire()}
+     * @param failed   true when the request failed because of the server
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            completions++;
+            if (failed || rttNanos > latencyThresholdNanos) {
+                if (completions > backoffUntil) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    backoffUntil = completions + inFlightBefore;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Gives a permit back without taking the request into account, e.g. for long-poll requests.
+     */
+    public void releaseIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,102 @@
+package fr.uga.l3miage.library.limits;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load on the REST API before requests pile up in the servlet container.
+ * <p>
+ * Each endpoint group (the resource following {@code /api/} or {@code /api/v1/}) has one limiter for reads
+ * (GET, HEAD) and one for writes, so a burst of imports cannot starve lookups. Paths outside the known resources
+ * share one group, the number of limiters does not depend on the paths clients make up. Rejected requests get a 503
+ * with a {@code Retry-After} header.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // the resources served under /api, see the controllers
+    private static final Set<String> RESOURCES = Set.of("authors", "books", "borrows", "changes", "graph", "imports",
+            "reservations", "suggest");
+    private static final String OTHER = "other";
+
+    private final Map<String, AimdLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration latencyThreshold;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitFilter(@Value("${library.limits.initial:20}") int initialLimit,
+                                  @Value("${library.limits.min:2}") int minLimit,
+                                  @Value("${library.limits.max:500}") int maxLimit,
+                                  @Value("${library.limits.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${library.limits.latency-threshold:250ms}") Duration latencyThreshold,
+                                  @Value("${library.limits.retry-after:1s}") Duration retryAfter) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThreshold = latencyThreshold;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AimdLimiter limiter = limiters.computeIfAbsent(group(request), group -> new AimdLimiter(
+                initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold.toNanos()));
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // long-poll and streaming requests are not representative of the endpoint latency
+                limiter.releaseIgnored();
+            } else {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    static String group(HttpServletRequest request) {
+        String path = request.getRequestURI().substring("/api/".length());
+        if (path.startsWith("v1/")) {
+            path = path.substring("v1/".length());
+        }
+        int slash = path.indexOf('/');
+        String resource = slash < 0 ? path : path.substring(0, slash);
+        if (!RESOURCES.contains(resource)) {
+            resource = OTHER;
+        }
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+        return resource + (read ? ":read" : ":write");
+    }
+}
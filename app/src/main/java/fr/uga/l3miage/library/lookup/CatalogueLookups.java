@@ -0,0 +1,126 @@
+package fr.uga.l3miage.library.lookup;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.BookService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Read side of the services as used by the controllers: search results are served from the
+ * {@link QueryResultCache} while still valid, identical concurrent lookups and searches share one call to the
+ * service.
+ */
+@Component
+public class CatalogueLookups {
+
+    private final AuthorService authorService;
+    private final BookService bookService;
+    private final QueryResultCache resultCache;
+    private final SingleFlight<Call, Object> flights = new SingleFlight<>();
+
+    @Autowired
+    public CatalogueLookups(AuthorService authorService, BookService bookService, QueryResultCache resultCache,
+                            MeterRegistry meterRegistry) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.resultCache = resultCache;
+        FunctionCounter.builder("library.lookups.calls", flights, SingleFlight::executedCalls)
+                .description("Lookups that reached the services")
+                .register(meterRegistry);
+        FunctionCounter.builder("library.lookups.coalesced", flights, SingleFlight::coalescedCalls)
+                .description("Lookups served by an identical call already in flight")
+                .register(meterRegistry);
+    }
+
+    public Collection<Author> listAuthors() {
+        return castCollection(flights.execute(new Call(Method.LIST_AUTHORS, null, null, 0), authorService::list));
+    }
+
+    public Optional<Author> findAuthor(Long id) {
+        return cast(flights.execute(new Call(Method.FIND_AUTHOR, id, null, 0), () -> authorService.find(id)));
+    }
+
+    public Collection<Author> searchAuthors(String name) {
+        return cached(new QueryResultCache.Key(QueryResultCache.Kind.AUTHORS_BY_NAME, null, normalize(name)),
+                () -> authorService.searchByName(name));
+    }
+
+    public Collection<Author> searchAuthorsFuzzy(String name) {
+        return cached(new QueryResultCache.Key(QueryResultCache.Kind.AUTHORS_BY_FUZZY_NAME, null, normalize(name)),
+                () -> authorService.searchByNameFuzzy(name));
+    }
+
+    public Optional<Book> findBook(Long id) {
+        return cast(flights.execute(new Call(Method.FIND_BOOK, id, null, 0), () -> bookService.find(id)));
+    }
+
+    public Collection<Book> findBooks(String title) {
+        return cached(new QueryResultCache.Key(QueryResultCache.Kind.BOOKS_BY_TITLE, null, normalize(title)),
+                () -> bookService.findByTitle(title));
+    }
+
+    public Collection<Book> findBooksByAuthor(Long authorId, String title) throws EntityNotFoundException {
+        return cached(new QueryResultCache.Key(QueryResultCache.Kind.BOOKS_BY_AUTHOR, authorId, normalize(title)),
+                () -> bookService.findByAuthor(authorId, title));
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        flights.forget();
+    }
+
+    private <T, E extends Exception> Collection<T> cached(QueryResultCache.Key key,
+                                                          SingleFlight.Loader<Collection<T>, E> search) throws E {
+        Collection<T> result = resultCache.get(key);
+        if (result != null) {
+            return result;
+        }
+        // read before searching, a write racing with the search leaves an entry that is already outdated; part of
+        // the call too, so that a search started after a write never joins one started before it, whatever the
+        // order in which the cache and the flights hear of the write
+        long generation = resultCache.generation(key);
+        result = castCollection(flights.execute(new Call(Method.SEARCH, null, key, generation), search::load));
+        resultCache.put(key, generation, result);
+        return result;
+    }
+
+    // searches are case-insensitive, so are the keys
+    static String normalize(String query) {
+        return query == null ? null : query.toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> castCollection(Object result) {
+        return result == null ? List.of() : (Collection<T>) result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<T> cast(Object result) {
+        return (Optional<T>) result;
+    }
+
+    enum Method {
+        LIST_AUTHORS,
+        FIND_AUTHOR,
+        FIND_BOOK,
+        SEARCH
+    }
+
+    /**
+     * @param generation of the searched data as read before the search, 0 for the other methods
+     */
+    record Call(Method method, Long id, QueryResultCache.Key search, long generation) {
+    }
+}
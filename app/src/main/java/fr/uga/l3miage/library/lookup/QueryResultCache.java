@@ -0,0 +1,112 @@
+package fr.uga.l3miage.library.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache of search results, bounded by an estimate of the memory they retain.
+ * <p>
+ * Entries are never scanned nor removed on writes: each one records the generation of the data it was computed
+ * from, writes only bump generation counters, and an entry whose generation is outdated is a miss. Author searches
+ * depend on the author collection, title searches on the book collection and searches within an author's books on
+ * a per-author generation (striped, so an unrelated write may rarely invalidate an author too).
+ */
+@Component
+public class QueryResultCache {
+
+    private static final int AUTHOR_STRIPES = 4096;
+
+    private final AtomicLong authorsGeneration = new AtomicLong();
+    private final AtomicLong booksGeneration = new AtomicLong();
+    private final AtomicLongArray authorGenerations = new AtomicLongArray(AUTHOR_STRIPES);
+    private final Cache<Key, Entry> entries;
+
+    @Autowired
+    public QueryResultCache(@Value("${library.lookups.cache.max-weight:16MB}") DataSize maxWeight,
+                            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher(QueryResultCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "query-results");
+    }
+
+    /**
+     * @return the generation to pass to {@link #put}, to be read before running the query
+     */
+    public long generation(Key key) {
+        return switch (key.kind()) {
+            case AUTHORS_BY_NAME, AUTHORS_BY_FUZZY_NAME -> authorsGeneration.get();
+            case BOOKS_BY_TITLE -> booksGeneration.get();
+            case BOOKS_BY_AUTHOR -> authorGenerations.get(stripe(key.scope()));
+        };
+    }
+
+    /**
+     * @return the cached result or null when absent or computed from outdated data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Collection<T> get(Key key) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || entry.generation() != generation(key)) {
+            return null;
+        }
+        return (Collection<T>) entry.result();
+    }
+
+    public void put(Key key, long generation, Collection<?> result) {
+        entries.put(key, new Entry(generation, result));
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        if (event.entity() == CatalogueEvent.Entity.AUTHOR) {
+            authorsGeneration.incrementAndGet();
+        } else {
+            booksGeneration.incrementAndGet();
+        }
+        for (Long authorId : event.authorIds()) {
+            authorGenerations.incrementAndGet(stripe(authorId));
+        }
+    }
+
+    private static int stripe(Long authorId) {
+        return Math.floorMod(Long.hashCode(authorId), AUTHOR_STRIPES);
+    }
+
+    // entities are shared with the store, only the key, the entry and the references held by the result count
+    private static int weigh(Key key, Entry entry) {
+        int queryBytes = key.query() == null ? 0 : 40 + 2 * key.query().length();
+        return 32 + queryBytes + 24 + 16 + 8 * entry.result().size();
+    }
+
+    public enum Kind {
+        AUTHORS_BY_NAME,
+        AUTHORS_BY_FUZZY_NAME,
+        BOOKS_BY_TITLE,
+        BOOKS_BY_AUTHOR
+    }
+
+    /**
+     * @param scope the author id for {@link Kind#BOOKS_BY_AUTHOR}, null otherwise
+     * @param query the normalized query text
+     */
+    public record Key(Kind kind, Long scope, String query) {
+    }
+
+    private record Entry(long generation, Collection<?> result) {
+    }
+}
@@ -0,0 +1,204 @@
+package fr.uga.l3miage.library.lookup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.authors.AuthorMapper;
+import fr.uga.l3miage.library.books.BooksMapper;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JSON of the authors and books as sent to the clients, so that a read of an unchanged entity neither maps nor
+ * serializes it again. Arrays are assembled by concatenating the cached fragments of their elements.
+ * <p>
+ * Invalidation works as in {@link QueryResultCache}: writes bump striped generations and a fragment records the
+ * generations it was encoded at, the sum of those of the entity and, for a book, of its authors since their names
+ * are embedded. A fragment is only stored when no write happened since the entity was loaded.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private static final int STRIPES = 4096;
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final AuthorMapper authorMapper;
+    private final BooksMapper booksMapper;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLongArray authorGenerations = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray bookGenerations = new AtomicLongArray(STRIPES);
+    private final Cache<Key, Fragment> fragments;
+
+    @Autowired
+    public SerializedResponseCache(AuthorMapper authorMapper, BooksMapper booksMapper, ObjectMapper objectMapper,
+                                   @Value("${library.responses.cache.max-weight:32MB}") DataSize maxWeight,
+                                   MeterRegistry meterRegistry) {
+        this.authorMapper = authorMapper;
+        this.booksMapper = booksMapper;
+        this.objectMapper = objectMapper;
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher(SerializedResponseCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "serialized-responses");
+    }
+
+    /**
+     * @return the token to pass to {@link #author} or {@link #book}, to be read before loading the entities
+     */
+    public long token() {
+        return writes.get();
+    }
+
+    /**
+     * @return the JSON of the author with this id, or null when absent or outdated
+     */
+    public byte[] author(Long id) {
+        Key key = new Key(Kind.AUTHOR, id);
+        return valid(key, fragments.getIfPresent(key));
+    }
+
+    /**
+     * @return the JSON of the book with this id, or null when absent or outdated
+     */
+    public byte[] book(Long id) {
+        Key key = new Key(Kind.BOOK, id);
+        return valid(key, fragments.getIfPresent(key));
+    }
+
+    /**
+     * @param token {@link #token()} as read before loading the author
+     * @return the JSON of the author, only encoded when the cached one is absent or outdated
+     */
+    public byte[] author(Author author, long token) {
+        Key key = new Key(Kind.AUTHOR, author.getId());
+        byte[] json = valid(key, fragments.getIfPresent(key));
+        if (json == null) {
+            json = encode(authorMapper.entityToDTO(author));
+            store(key, new Fragment(json, new long[0], stamp(key, new long[0])), token);
+        }
+        return json;
+    }
+
+    /**
+     * @param token {@link #token()} as read before loading the book
+     * @return the JSON of the book, only encoded when the cached one is absent or outdated
+     */
+    public byte[] book(Book book, long token) {
+        Key key = new Key(Kind.BOOK, book.getId());
+        byte[] json = valid(key, fragments.getIfPresent(key));
+        if (json == null) {
+            json = encode(booksMapper.entityToDTO(book));
+            long[] authorIds = book.getAuthors() == null ? new long[0] : book.getAuthors().stream()
+                    .map(Author::getId)
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .toArray();
+            store(key, new Fragment(json, authorIds, stamp(key, authorIds)), token);
+        }
+        return json;
+    }
+
+    /**
+     * @return a JSON array of the given JSON values
+     */
+    public static byte[] array(Collection<byte[]> elements) {
+        if (elements.isEmpty()) {
+            return EMPTY_ARRAY;
+        }
+        int length = 1 + elements.size();
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        byte[] array = new byte[length];
+        byte separator = '[';
+        int offset = 0;
+        for (byte[] element : elements) {
+            array[offset++] = separator;
+            separator = ',';
+            System.arraycopy(element, 0, array, offset, element.length);
+            offset += element.length;
+        }
+        array[offset] = ']';
+        return array;
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        // before the generations, see store
+        writes.incrementAndGet();
+        if (event.entity() == CatalogueEvent.Entity.AUTHOR) {
+            authorGenerations.incrementAndGet(stripe(event.id()));
+        } else {
+            bookGenerations.incrementAndGet(stripe(event.id()));
+        }
+    }
+
+    private byte[] encode(Object dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the stamp is read before checking the token: a write the check misses only bumps the generations afterwards
+    private void store(Key key, Fragment fragment, long token) {
+        if (writes.get() == token) {
+            fragments.put(key, fragment);
+        }
+    }
+
+    private byte[] valid(Key key, Fragment fragment) {
+        return fragment == null || fragment.stamp() != stamp(key, fragment.authorIds())
+                ? null
+                : fragment.json();
+    }
+
+    // generations only grow, so does their sum whenever one of them is bumped
+    private long stamp(Key key, long[] authorIds) {
+        long stamp = key.kind() == Kind.AUTHOR
+                ? authorGenerations.get(stripe(key.id()))
+                : bookGenerations.get(stripe(key.id()));
+        for (long authorId : authorIds) {
+            stamp += authorGenerations.get(stripe(authorId));
+        }
+        return stamp;
+    }
+
+    private static int stripe(long id) {
+        return Math.floorMod(Long.hashCode(id), STRIPES);
+    }
+
+    private static int weigh(Key key, Fragment fragment) {
+        return 32 + 40 + 16 + fragment.json().length + 16 + 8 * fragment.authorIds().length;
+    }
+
+    private enum Kind {
+        AUTHOR,
+        BOOK
+    }
+
+    private record Key(Kind kind, Long id) {
+    }
+
+    private record Fragment(byte[] json, long[] authorIds, long stamp) {
+    }
+}
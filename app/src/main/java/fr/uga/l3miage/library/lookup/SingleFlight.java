@@ -0,0 +1,85 @@
+package fr.uga.l3miage.library.lookup;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent identical calls: the first caller for a key computes the value, callers arriving while it is
+ * in flight wait for and share its result (or its exception). Nothing is kept once the call completes.
+ *
+ * @param <K> the call key, method and normalized arguments
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public <E extends Exception> V execute(K key, Loader<V, E> loader) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+        executed.increment();
+        try {
+            V value = loader.load();
+            flight.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Makes the next callers start a new computation instead of joining the ones in flight, to be called after a
+     * write so that nobody is handed a result computed before it.
+     */
+    public void forget() {
+        inFlight.clear();
+    }
+
+    /**
+     * @return number of calls that actually reached the loader
+     */
+    public long executedCalls() {
+        return executed.sum();
+    }
+
+    /**
+     * @return number of calls served by joining an identical call in flight
+     */
+    public long coalescedCalls() {
+        return coalesced.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V await(CompletableFuture<V> leader) throws E {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // the leader's loader can only throw E or unchecked exceptions
+            throw (E) cause;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+}
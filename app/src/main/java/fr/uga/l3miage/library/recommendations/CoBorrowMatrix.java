@@ -0,0 +1,164 @@
+package fr.uga.l3miage.library.recommendations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Sparse book-by-book matrix of how many times two books were borrowed together, and for each book the books most
+ * often borrowed with it.
+ * <p>
+ * A row keeps at most {@code maxRowEntries} counts. Loans are counted as they are recorded with the Space-Saving
+ * rule: a book entering a full row replaces the one with the lowest count and starts from that count plus one, so
+ * that books borrowed together often enough always make it to the row while the memory of a row stays bounded.
+ * Counts are only approximate until the next {@link #build}, which counts every loan exactly before pruning the
+ * rows.
+ * <p>
+ * Neighbor lists are recomputed for the rows touched by each loan and can be read concurrently; updates must be
+ * serialized by the caller.
+ */
+class CoBorrowMatrix {
+
+    private static final long[] NO_NEIGHBORS = new long[0];
+
+    private final int maxRowEntries;
+    private final int neighbors;
+    private final Map<Long, LongIntMap> rows;
+    private final Map<Long, long[]> neighborLists;
+
+    CoBorrowMatrix(int maxRowEntries, int neighbors) {
+        this(maxRowEntries, neighbors, new HashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private CoBorrowMatrix(int maxRowEntries, int neighbors, Map<Long, LongIntMap> rows, Map<Long, long[]> neighborLists) {
+        if (neighbors > maxRowEntries) {
+            throw new IllegalArgumentException("a row must hold at least the neighbors of the book");
+        }
+        this.maxRowEntries = maxRowEntries;
+        this.neighbors = neighbors;
+        this.rows = rows;
+        this.neighborLists = neighborLists;
+    }
+
+    /**
+     * Counts the books of a loan as borrowed together.
+     */
+    void record(long[] bookIds) {
+        for (long bookId : bookIds) {
+            LongIntMap row = rows.computeIfAbsent(bookId, id -> new LongIntMap(8));
+            boolean changed = false;
+            for (long other : bookIds) {
+                if (other != bookId) {
+                    increment(row, other);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                neighborLists.put(bookId, row.top(neighbors));
+            }
+        }
+    }
+
+    /**
+     * Forgets a book, it is left out of the neighbor lists of the other books as they change.
+     */
+    void remove(long bookId) {
+        rows.remove(bookId);
+        neighborLists.remove(bookId);
+    }
+
+    /**
+     * @return the books most often borrowed with the given one, most borrowed first
+     */
+    long[] neighbors(long bookId) {
+        return neighborLists.getOrDefault(bookId, NO_NEIGHBORS);
+    }
+
+    int rows() {
+        return neighborLists.size();
+    }
+
+    /**
+     * Counts every loan from scratch, the rows being shared between {@code shards} tasks run in parallel so that no
+     * row is written by two tasks. Loans are first bucketed by the shards of their books, each task only goes through
+     * the loans of its bucket.
+     */
+    static CoBorrowMatrix build(Collection<long[]> loans, int maxRowEntries, int neighbors, int shards) {
+        List<long[]> allLoans = loans instanceof List<long[]> list ? list : new ArrayList<>(loans);
+        int[][] buckets = new int[shards][16];
+        int[] bucketSizes = new int[shards];
+        for (int loan = 0; loan < allLoans.size(); loan++) {
+            long[] bookIds = allLoans.get(loan);
+            if (bookIds.length < 2) {
+                continue;
+            }
+            for (int i = 0; i < bookIds.length; i++) {
+                int shard = shard(bookIds[i], shards);
+                // once per shard, even when several books of the loan fall into it
+                if (bucketSizes[shard] > 0 && buckets[shard][bucketSizes[shard] - 1] == loan) {
+                    continue;
+                }
+                if (bucketSizes[shard] == buckets[shard].length) {
+                    buckets[shard] = Arrays.copyOf(buckets[shard], bucketSizes[shard] * 2);
+                }
+                buckets[shard][bucketSizes[shard]++] = loan;
+            }
+        }
+        List<Map<Long, LongIntMap>> shardRows = IntStream.range(0, shards)
+                .parallel()
+                .mapToObj(shard -> countShard(allLoans, buckets[shard], bucketSizes[shard], shard, shards, maxRowEntries))
+                .toList();
+        Map<Long, LongIntMap> rows = new HashMap<>();
+        Map<Long, long[]> neighborLists = new ConcurrentHashMap<>();
+        for (Map<Long, LongIntMap> shard : shardRows) {
+            rows.putAll(shard);
+        }
+        shardRows.parallelStream().forEach(shard -> shard.forEach((bookId, row) ->
+                neighborLists.put(bookId, row.top(neighbors))));
+        return new CoBorrowMatrix(maxRowEntries, neighbors, rows, neighborLists);
+    }
+
+    private static Map<Long, LongIntMap> countShard(List<long[]> loans, int[] bucket, int size, int shard, int shards,
+                                                    int maxRowEntries) {
+        Map<Long, LongIntMap> rows = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            long[] bookIds = loans.get(bucket[i]);
+            for (long bookId : bookIds) {
+                if (shard(bookId, shards) != shard) {
+                    continue;
+                }
+                LongIntMap row = null;
+                for (long other : bookIds) {
+                    if (other != bookId) {
+                        if (row == null) {
+                            row = rows.computeIfAbsent(bookId, id -> new LongIntMap(8));
+                        }
+                        row.add(other, 1);
+                    }
+                }
+            }
+        }
+        rows.replaceAll((bookId, row) -> row.pruned(maxRowEntries));
+        return rows;
+    }
+
+    private static int shard(long bookId, int shards) {
+        return Math.floorMod(Long.hashCode(bookId), shards);
+    }
+
+    private void increment(LongIntMap row, long other) {
+        if (row.get(other) == 0 && row.size() >= maxRowEntries) {
+            long evicted = row.minKey();
+            int floor = row.get(evicted);
+            row.remove(evicted);
+            row.add(other, floor + 1);
+        } else {
+            row.add(other, 1);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package fr.uga.l3miage.library.recommendations;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing map from long keys to int counts, without boxing. {@link Long#MIN_VALUE} cannot be a
+ * key, it marks the free slots.
+ */
+class LongIntMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    int get(long key) {
+        int slot = slot(keys, key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    /**
+     * @return the new count
+     */
+    int add(long key, int delta) {
+        int slot = slot(keys, key);
+        if (keys[slot] == key) {
+            return values[slot] += delta;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return delta;
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(keys, key);
+        if (keys[slot] != key) {
+            return;
+        }
+        // backward shift: moves up the following keys of the run that would no longer be found
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long moved = keys[next];
+            if (moved == FREE) {
+                break;
+            }
+            int home = hash(moved) & mask;
+            if (slot <= next ? slot < home && home <= next : slot < home || home <= next) {
+                continue;
+            }
+            keys[slot] = moved;
+            values[slot] = values[next];
+            slot = next;
+        }
+        keys[slot] = FREE;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the key with the lowest count, {@link Long#MIN_VALUE} when empty
+     */
+    long minKey() {
+        long min = FREE;
+        int minValue = Integer.MAX_VALUE;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE && values[slot] < minValue) {
+                min = keys[slot];
+                minValue = values[slot];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @return at most {@code k} keys, highest counts first, ties broken by the lowest key
+     */
+    long[] top(int k) {
+        long[] best = new long[Math.min(k, size)];
+        int[] counts = new int[best.length];
+        int found = 0;
+        for (int slot = 0; slot < keys.length && best.length > 0; slot++) {
+            long key = keys[slot];
+            if (key == FREE) {
+                continue;
+            }
+            int count = values[slot];
+            if (found == best.length && !before(count, key, counts[found - 1], best[found - 1])) {
+                continue;
+            }
+            int i = found == best.length ? found - 1 : found++;
+            while (i > 0 && before(count, key, counts[i - 1], best[i - 1])) {
+                best[i] = best[i - 1];
+                counts[i] = counts[i - 1];
+                i--;
+            }
+            best[i] = key;
+            counts[i] = count;
+        }
+        return best;
+    }
+
+    /**
+     * @return a map holding only the {@code k} keys with the highest counts
+     */
+    LongIntMap pruned(int k) {
+        if (size <= k) {
+            return this;
+        }
+        long[] kept = top(k);
+        LongIntMap pruned = new LongIntMap(k);
+        for (long key : kept) {
+            pruned.add(key, get(key));
+        }
+        return pruned;
+    }
+
+    private static boolean before(int count, long key, int otherCount, long otherKey) {
+        return count > otherCount || count == otherCount && key < otherKey;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+}
@@ -0,0 +1,173 @@
+package fr.uga.l3miage.library.recommendations;
+
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.library.service.BorrowEvent;
+import fr.uga.l3miage.library.service.BorrowService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Also borrowed" recommendations: the {@link CoBorrowMatrix} is updated with every new loan and rebuilt from the
+ * whole borrow history at startup then every {@code library.recommendations.rebuild-interval}.
+ * <p>
+ * Reads go to the current matrix without locking. A rebuild counts in parallel into a new matrix, then replays the
+ * loans recorded meanwhile and swaps it in: loans are only held back for the time of the replay.
+ */
+@Component
+public class RecommendationEngine implements DisposableBean {
+
+    private final BorrowService borrowService;
+    private final int maxRowEntries;
+    private final int neighbors;
+    private final int shards;
+    private final Timer rebuilds;
+    private final Counter failedRebuilds;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "recommendations-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Duration rebuildInterval;
+
+    private volatile CoBorrowMatrix matrix;
+    // loans and deleted books seen while a rebuild runs, to replay on the new matrix; guarded by this
+    private List<Object> pending;
+
+    @Autowired
+    public RecommendationEngine(BorrowService borrowService,
+                                @Value("${library.recommendations.neighbors:10}") int neighbors,
+                                @Value("${library.recommendations.max-row-entries:256}") int maxRowEntries,
+                                @Value("${library.recommendations.rebuild-interval:1h}") Duration rebuildInterval,
+                                MeterRegistry meterRegistry) {
+        this.borrowService = borrowService;
+        this.neighbors = neighbors;
+        this.maxRowEntries = maxRowEntries;
+        this.rebuildInterval = rebuildInterval;
+        // a few shards per core to even out the tasks, each loan is only looked at by the shards of its books
+        this.shards = Runtime.getRuntime().availableProcessors() * 4;
+        this.matrix = new CoBorrowMatrix(maxRowEntries, neighbors);
+        this.rebuilds = Timer.builder("library.recommendations.rebuilds")
+                .description("Rebuilds of the co-borrow matrix from the borrow history")
+                .register(meterRegistry);
+        this.failedRebuilds = Counter.builder("library.recommendations.rebuilds.failed")
+                .description("Rebuilds that failed, the previous matrix being kept")
+                .register(meterRegistry);
+        Gauge.builder("library.recommendations.books", this, engine -> engine.matrix.rows())
+                .description("Books with recommendations")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return ids of the books most often borrowed with the given one, most borrowed first
+     */
+    public long[] recommendations(long bookId) {
+        return matrix.neighbors(bookId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuildOrKeep();
+        long interval = rebuildInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuildOrKeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public synchronized void onBorrowEvent(BorrowEvent event) {
+        matrix.record(bookIds(event));
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    @EventListener
+    public synchronized void onCatalogueEvent(CatalogueEvent event) {
+        if (event.entity() == CatalogueEvent.Entity.BOOK && event.action() == CatalogueEvent.Action.DELETED) {
+            matrix.remove(event.id());
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    // a failure neither aborts the startup nor cancels the next rebuilds, the current matrix is kept
+    private void rebuildOrKeep() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            failedRebuilds.increment();
+        }
+    }
+
+    void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            rebuilds.record(() -> {
+                Set<Long> counted = new HashSet<>();
+                List<long[]> loans = new ArrayList<>();
+                for (Borrow borrow : borrowService.list()) {
+                    counted.add(borrow.getId());
+                    loans.add(bookIds(borrow));
+                }
+                CoBorrowMatrix rebuilt = CoBorrowMatrix.build(loans, maxRowEntries, neighbors, shards);
+                synchronized (this) {
+                    for (Object event : pending) {
+                        if (event instanceof BorrowEvent loan && !counted.contains(loan.id())) {
+                            rebuilt.record(bookIds(loan));
+                        } else if (event instanceof CatalogueEvent deleted) {
+                            rebuilt.remove(deleted.id());
+                        }
+                    }
+                    matrix = rebuilt;
+                }
+            });
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static long[] bookIds(BorrowEvent event) {
+        return event.bookIds().stream()
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+    }
+
+    private static long[] bookIds(Borrow borrow) {
+        return borrow.getBooks() == null ? new long[0] : borrow.getBooks().stream()
+                .map(Book::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+    }
+}
@@ -0,0 +1,46 @@
+package fr.uga.l3miage.library.recommendations;
+
+import fr.uga.l3miage.library.books.BookDTO;
+import fr.uga.l3miage.library.books.BooksMapper;
+import fr.uga.l3miage.library.lookup.CatalogueLookups;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api", produces = "application/json")
+public class RecommendationsController {
+
+    private final RecommendationEngine engine;
+    private final CatalogueLookups lookups;
+    private final BooksMapper booksMapper;
+
+    @Autowired
+    public RecommendationsController(RecommendationEngine engine, CatalogueLookups lookups, BooksMapper booksMapper) {
+        this.engine = engine;
+        this.lookups = lookups;
+        this.booksMapper = booksMapper;
+    }
+
+    //the books most often borrowed together with this one, most borrowed first
+    @GetMapping("/books/{id}/recommendations")
+    public ResponseEntity<Collection<BookDTO>> recommendations(@PathVariable Long id) {
+        if (lookups.findBook(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long[] bookIds = engine.recommendations(id);
+        List<BookDTO> books = new ArrayList<>(bookIds.length);
+        for (long bookId : bookIds) {
+            // skips books deleted since the loans were counted
+            lookups.findBook(bookId).map(booksMapper::entityToDTO).ifPresent(books::add);
+        }
+        return ResponseEntity.ok(books);
+    }
+}
@@ -0,0 +1,89 @@
+package fr.uga.l3miage.library.reservations;
+
+import fr.uga.l3miage.library.service.Reservation;
+import fr.uga.l3miage.library.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parks the requests of borrowers waiting for their reservation to change state, and answers them from the
+ * reservation events: a borrower in a waitlist of thousands holds one idle request instead of polling.
+ */
+@Component
+public class ReservationNotifier {
+
+    private final ReservationService reservationService;
+    private final long maxTimeout;
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReservationNotifier(ReservationService reservationService,
+                               @Value("${library.reservations.await.max-timeout:60s}") Duration maxTimeout) {
+        this.reservationService = reservationService;
+        this.maxTimeout = maxTimeout.toMillis();
+    }
+
+    /**
+     * @param from    the state known by the borrower, the result is set as soon as the reservation leaves it
+     * @param timeout how long to wait in ms, at most {@code library.reservations.await.max-timeout}; the current
+     *                state is returned when it expires
+     * @return the reservation in its new state, 404 if it does not exist
+     * @throws IllegalArgumentException if the timeout is not positive, the request would never expire
+     */
+    public DeferredResult<ResponseEntity<Reservation>> await(Long id, Reservation.State from, long timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        DeferredResult<ResponseEntity<Reservation>> result = new DeferredResult<>(Math.min(timeout, maxTimeout),
+                () -> current(id));
+        Waiter waiter = new Waiter(from, result);
+        // sets are added and dropped atomically with their first and last waiter
+        waiters.compute(id, (key, set) -> {
+            Set<Waiter> reservationWaiters = set == null ? ConcurrentHashMap.newKeySet() : set;
+            reservationWaiters.add(waiter);
+            return reservationWaiters;
+        });
+        result.onCompletion(() -> waiters.computeIfPresent(id, (key, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        }));
+        // checked once registered, so that a change between the check and the registration is not missed
+        Optional<Reservation> reservation = reservationService.find(id);
+        if (reservation.isEmpty() || reservation.get().state() != from) {
+            result.setResult(current(id));
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onReservation(Reservation reservation) {
+        Set<Waiter> reservationWaiters = waiters.get(reservation.id());
+        if (reservationWaiters == null) {
+            return;
+        }
+        for (Waiter waiter : reservationWaiters) {
+            if (waiter.from() != reservation.state()) {
+                waiter.result().setResult(ResponseEntity.ok(reservation));
+            }
+        }
+    }
+
+    private ResponseEntity<Reservation> current(Long id) {
+        return reservationService.find(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private record Waiter(Reservation.State from, DeferredResult<ResponseEntity<Reservation>> result) {
+    }
+}
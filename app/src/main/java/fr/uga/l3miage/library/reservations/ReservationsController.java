@@ -0,0 +1,100 @@
+package fr.uga.l3miage.library.reservations;
+
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import fr.uga.l3miage.library.service.Reservation;
+import fr.uga.l3miage.library.service.ReservationService;
+import fr.uga.l3miage.library.service.ReservationStateException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping(value = "/api/v1", produces = "application/json")
+public class ReservationsController {
+
+    private final ReservationService reservationService;
+    private final ReservationNotifier notifier;
+
+    @Autowired
+    public ReservationsController(ReservationService reservationService, ReservationNotifier notifier) {
+        this.reservationService = reservationService;
+        this.notifier = notifier;
+    }
+
+    @PostMapping("/books/{bookId}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Reservation reserve(@PathVariable Long bookId, @RequestParam("borrower") Long borrowerId) throws EntityNotFoundException {
+        return reservationService.reserve(bookId, borrowerId);
+    }
+
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<Reservation> reservation(@PathVariable Long id) {
+        return reservationService.find(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Long-poll instead of polling {@link #reservation}: answers as soon as the reservation is no longer in the
+     * {@code state} the borrower knows, or with the unchanged reservation after {@code timeout} ms, capped by the
+     * server. A timeout that is not positive is a bad request.
+     */
+    @GetMapping("/reservations/{id}/await")
+    public DeferredResult<ResponseEntity<Reservation>> await(@PathVariable Long id,
+                                                             @RequestParam(value = "state", defaultValue = "WAITING") Reservation.State state,
+                                                             @RequestParam(value = "timeout", defaultValue = "30000") long timeout) {
+        return notifier.await(id, state, timeout);
+    }
+
+    @PostMapping("/reservations/{id}/claim")
+    public Reservation claim(@PathVariable Long id) throws EntityNotFoundException, ReservationStateException {
+        return reservationService.claim(id);
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public Reservation cancel(@PathVariable Long id) throws EntityNotFoundException, ReservationStateException {
+        return reservationService.cancel(id);
+    }
+
+    //a copy came back, it goes to the next borrower in the waitlist
+    @PostMapping("/books/{bookId}/returns")
+    public ResponseEntity<Void> returned(@PathVariable Long bookId) throws EntityNotFoundException {
+        return reservationService.returned(bookId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @PutMapping("/books/{bookId}/copies")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void copies(@PathVariable Long bookId, @RequestParam("count") int copies) throws EntityNotFoundException {
+        reservationService.setCopies(bookId, copies);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handleEntityNotFoundException(EntityNotFoundException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(ReservationStateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleReservationStateException(ReservationStateException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
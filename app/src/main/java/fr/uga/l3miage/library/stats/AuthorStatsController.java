@@ -0,0 +1,34 @@
+package fr.uga.l3miage.library.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collection;
+
+@RestController
+@RequestMapping(value = "/api/v1", produces = "application/json")
+public class AuthorStatsController {
+
+    private final AuthorStatsModel model;
+
+    @Autowired
+    public AuthorStatsController(AuthorStatsUpdater updater) {
+        this.model = updater.model();
+    }
+
+    //the authors with the number of their books, their latest year and languages, served from the read model only
+    @GetMapping("/authors/stats")
+    public Collection<AuthorStatsDTO> authors() {
+        return model.list();
+    }
+
+    @GetMapping("/authors/{id}/stats")
+    public ResponseEntity<AuthorStatsDTO> author(@PathVariable Long id) {
+        AuthorStatsDTO stats = model.get(id);
+        return stats == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(stats);
+    }
+}
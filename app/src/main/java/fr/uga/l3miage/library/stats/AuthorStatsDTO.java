@@ -0,0 +1,19 @@
+package fr.uga.l3miage.library.stats;
+
+import java.util.Collection;
+
+/**
+ * An author with the statistics of its books.
+ *
+ * @param books      number of books of the author
+ * @param latestYear year of its latest book, null without books
+ * @param languages  languages its books are written in
+ */
+public record AuthorStatsDTO(
+        Long id,
+        String fullName,
+        int books,
+        Short latestYear,
+        Collection<String> languages
+) {
+}
@@ -0,0 +1,289 @@
+package fr.uga.l3miage.library.stats;
+
+import fr.uga.l3miage.data.domain.Book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read model of the statistics of each author, kept up to date book by book so that listing them never loads the
+ * books of the catalogue.
+ * <p>
+ * Authors and books get dense slot numbers, recycled on removal, indexing primitive arrays: per author the name, the
+ * number of books, the latest year of publication, the number of books per language and the slots of its books;
+ * per book what it added to its authors (year, language, author slots) so that it can be taken back when the book
+ * changes or goes away. Reads run concurrently, updates are serialized by a read/write lock.
+ */
+public class AuthorStatsModel {
+
+    private static final Book.Language[] LANGUAGES = Book.Language.values();
+    private static final int NO_LANGUAGE = -1;
+    // the language names of every combination of languages, shared by all the rows
+    private static final List<List<String>> LANGUAGE_SETS = languageSets();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Slots authors = new Slots();
+    private final Slots books = new Slots();
+    private String[] names = new String[16];
+    private int[] bookCounts = new int[16];
+    private short[] latestYears = new short[16];
+    private int[] languageCounts = new int[16 * LANGUAGES.length];
+    private short[] years = new short[16];
+    private byte[] languages = new byte[16];
+
+    /**
+     * Adds an author or renames it.
+     */
+    public void putAuthor(long authorId, String fullName) {
+        lock.writeLock().lock();
+        try {
+            int author = addAuthor(authorId);
+            names[author] = fullName;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a book or replaces what was known of it.
+     *
+     * @param language null when unknown
+     */
+    public void putBook(long bookId, short year, Book.Language language, long[] authorIds) {
+        lock.writeLock().lock();
+        try {
+            doRemoveBook(bookId);
+            int book = books.add(bookId);
+            if (book == years.length) {
+                years = Arrays.copyOf(years, book * 2);
+                languages = Arrays.copyOf(languages, book * 2);
+            }
+            years[book] = year;
+            languages[book] = (byte) (language == null ? NO_LANGUAGE : language.ordinal());
+            for (long authorId : authorIds) {
+                int author = addAuthor(authorId);
+                if (books.addEdge(book, author)) {
+                    authors.addEdge(author, book);
+                    count(author, book);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBook(long bookId) {
+        lock.writeLock().lock();
+        try {
+            doRemoveBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an author, its books stay with their other authors.
+     */
+    public void removeAuthor(long authorId) {
+        lock.writeLock().lock();
+        try {
+            int author = authors.indexOf(authorId);
+            if (author < 0) {
+                return;
+            }
+            for (int i = 0; i < authors.degree[author]; i++) {
+                books.removeEdge(authors.adjacency[author][i], author);
+            }
+            names[author] = null;
+            authors.remove(author);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the statistics of an author, null when unknown
+     */
+    public AuthorStatsDTO get(long authorId) {
+        lock.readLock().lock();
+        try {
+            int author = authors.indexOf(authorId);
+            return author < 0 ? null : row(author);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the statistics of every author, in no particular order
+     */
+    public List<AuthorStatsDTO> list() {
+        lock.readLock().lock();
+        try {
+            List<AuthorStatsDTO> rows = new ArrayList<>(authors.size());
+            for (int author = 0; author < authors.highWater; author++) {
+                if (authors.adjacency[author] != null) {
+                    rows.add(row(author));
+                }
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private AuthorStatsDTO row(int author) {
+        int languageSet = 0;
+        for (int language = 0; language < LANGUAGES.length; language++) {
+            if (languageCounts[author * LANGUAGES.length + language] > 0) {
+                languageSet |= 1 << language;
+            }
+        }
+        return new AuthorStatsDTO(authors.ids[author], names[author], bookCounts[author],
+                bookCounts[author] == 0 ? null : latestYears[author], LANGUAGE_SETS.get(languageSet));
+    }
+
+    private int addAuthor(long authorId) {
+        int author = authors.add(authorId);
+        if (author == names.length) {
+            names = Arrays.copyOf(names, author * 2);
+            bookCounts = Arrays.copyOf(bookCounts, author * 2);
+            latestYears = Arrays.copyOf(latestYears, author * 2);
+            languageCounts = Arrays.copyOf(languageCounts, author * 2 * LANGUAGES.length);
+        }
+        if (authors.degree[author] == 0) {
+            // a new author or one without books, in a slot that may have been used before
+            bookCounts[author] = 0;
+            Arrays.fill(languageCounts, author * LANGUAGES.length, (author + 1) * LANGUAGES.length, 0);
+        }
+        return author;
+    }
+
+    private void count(int author, int book) {
+        if (bookCounts[author]++ == 0 || years[book] > latestYears[author]) {
+            latestYears[author] = years[book];
+        }
+        if (languages[book] != NO_LANGUAGE) {
+            languageCounts[author * LANGUAGES.length + languages[book]]++;
+        }
+    }
+
+    private void doRemoveBook(long bookId) {
+        int book = books.indexOf(bookId);
+        if (book < 0) {
+            return;
+        }
+        for (int i = 0; i < books.degree[book]; i++) {
+            int author = books.adjacency[book][i];
+            authors.removeEdge(author, book);
+            bookCounts[author]--;
+            if (languages[book] != NO_LANGUAGE) {
+                languageCounts[author * LANGUAGES.length + languages[book]]--;
+            }
+            if (years[book] == latestYears[author]) {
+                // the latest year may have gone with the book, only the books of this author are looked at again
+                short latest = Short.MIN_VALUE;
+                for (int j = 0; j < authors.degree[author]; j++) {
+                    latest = (short) Math.max(latest, years[authors.adjacency[author][j]]);
+                }
+                latestYears[author] = latest;
+            }
+        }
+        books.remove(book);
+    }
+
+    private static List<List<String>> languageSets() {
+        List<List<String>> sets = new ArrayList<>(1 << LANGUAGES.length);
+        for (int set = 0; set < 1 << LANGUAGES.length; set++) {
+            List<String> names = new ArrayList<>();
+            for (int language = 0; language < LANGUAGES.length; language++) {
+                if ((set & 1 << language) != 0) {
+                    // as written by BooksMapper
+                    names.add(LANGUAGES[language].name().toLowerCase(Locale.ROOT));
+                }
+            }
+            sets.add(List.copyOf(names));
+        }
+        return List.copyOf(sets);
+    }
+
+    /**
+     * Dense slot numbers, recycled on removal, each with the slots it is linked to on the other side.
+     */
+    private static final class Slots {
+        final Map<Long, Integer> index = new HashMap<>();
+        long[] ids = new long[16];
+        int[][] adjacency = new int[16][];
+        int[] degree = new int[16];
+        int highWater;
+        int[] free = new int[16];
+        int freeCount;
+
+        int indexOf(long id) {
+            Integer slot = index.get(id);
+            return slot == null ? -1 : slot;
+        }
+
+        int add(long id) {
+            Integer existing = index.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            int slot = freeCount > 0 ? free[--freeCount] : highWater++;
+            if (slot == ids.length) {
+                ids = Arrays.copyOf(ids, slot * 2);
+                adjacency = Arrays.copyOf(adjacency, slot * 2);
+                degree = Arrays.copyOf(degree, slot * 2);
+            }
+            ids[slot] = id;
+            adjacency[slot] = new int[2];
+            degree[slot] = 0;
+            index.put(id, slot);
+            return slot;
+        }
+
+        void remove(int slot) {
+            index.remove(ids[slot]);
+            adjacency[slot] = null;
+            degree[slot] = 0;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = slot;
+        }
+
+        boolean addEdge(int slot, int other) {
+            int[] edges = adjacency[slot];
+            for (int i = 0; i < degree[slot]; i++) {
+                if (edges[i] == other) {
+                    return false;
+                }
+            }
+            if (degree[slot] == edges.length) {
+                adjacency[slot] = edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[degree[slot]++] = other;
+            return true;
+        }
+
+        void removeEdge(int slot, int other) {
+            int[] edges = adjacency[slot];
+            for (int i = 0; i < degree[slot]; i++) {
+                if (edges[i] == other) {
+                    edges[i] = edges[--degree[slot]];
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return index.size();
+        }
+    }
+}
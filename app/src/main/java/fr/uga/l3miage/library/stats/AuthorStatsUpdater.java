@@ -0,0 +1,84 @@
+package fr.uga.l3miage.library.stats;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.BookService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Loads the author statistics at startup and keeps them up to date with the catalogue events, each event only
+ * reads the author or the book it is about.
+ */
+@Component
+public class AuthorStatsUpdater {
+
+    private final AuthorStatsModel model = new AuthorStatsModel();
+    private final AuthorService authorService;
+    private final BookService bookService;
+
+    @Autowired
+    public AuthorStatsUpdater(AuthorService authorService, BookService bookService) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+    }
+
+    public AuthorStatsModel model() {
+        return model;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Set<Long> loadedBooks = new HashSet<>();
+        for (Author author : authorService.list()) {
+            model.putAuthor(author.getId(), author.getFullName());
+            if (author.getBooks() != null) {
+                for (Book book : author.getBooks()) {
+                    if (loadedBooks.add(book.getId())) {
+                        putBook(book);
+                    }
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        switch (event.entity()) {
+            case AUTHOR -> {
+                switch (event.action()) {
+                    case SAVED, UPDATED -> authorService.find(event.id())
+                            .ifPresent(author -> model.putAuthor(author.getId(), author.getFullName()));
+                    case DELETED -> model.removeAuthor(event.id());
+                    default -> {
+                        // authors are added to books through book events
+                    }
+                }
+            }
+            case BOOK -> {
+                switch (event.action()) {
+                    case SAVED, UPDATED, AUTHOR_ADDED -> bookService.find(event.id())
+                            .ifPresentOrElse(this::putBook, () -> model.removeBook(event.id()));
+                    case DELETED -> model.removeBook(event.id());
+                }
+            }
+        }
+    }
+
+    private void putBook(Book book) {
+        long[] authorIds = book.getAuthors() == null ? new long[0] : book.getAuthors().stream()
+                .map(Author::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray();
+        model.putBook(book.getId(), book.getYear(), book.getLanguage(), authorIds);
+    }
+}
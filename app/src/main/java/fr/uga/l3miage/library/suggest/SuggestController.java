@@ -0,0 +1,42 @@
+package fr.uga.l3miage.library.suggest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api", produces = "application/json")
+public class SuggestController {
+
+    private final SuggestionIndex index;
+
+    @Autowired
+    public SuggestController(SuggestionIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Typeahead of the search box, {@code type} restricts the suggestions to {@code AUTHOR} or {@code BOOK}.
+     */
+    @GetMapping("/suggest")
+    public List<Suggestion> suggest(@RequestParam("prefix") String prefix,
+                                    @RequestParam(value = "type", required = false) Suggestion.Type type,
+                                    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return index.suggest(prefix, type, limit);
+    }
+
+    /**
+     * Called when the user picks a suggestion, to rank it higher next time.
+     */
+    @PostMapping("/suggest/{type}/{id}/selected")
+    public ResponseEntity<Void> selected(@PathVariable("type") Suggestion.Type type, @PathVariable("id") long id) {
+        return index.selected(type, id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
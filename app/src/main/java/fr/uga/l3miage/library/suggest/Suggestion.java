@@ -0,0 +1,34 @@
+package fr.uga.l3miage.library.suggest;
+
+import java.util.Comparator;
+
+/**
+ * A completion of the search box.
+ *
+ * @param type   kind of entity suggested
+ * @param id     id of the author or book
+ * @param text   full name of the author or title of the book, as displayed
+ * @param weight popularity, the most popular suggestions come first
+ */
+public record Suggestion(Type type, long id, String text, long weight) {
+
+    /**
+     * Most popular first, then alphabetically.
+     */
+    static final Comparator<Suggestion> ORDER = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Suggestion::id);
+
+    Suggestion withText(String text) {
+        return new Suggestion(type, id, text, weight);
+    }
+
+    Suggestion withWeight(long weight) {
+        return new Suggestion(type, id, text, weight);
+    }
+
+    public enum Type {
+        AUTHOR,
+        BOOK
+    }
+}
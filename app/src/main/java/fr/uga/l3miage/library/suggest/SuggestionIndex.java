@@ -0,0 +1,120 @@
+package fr.uga.l3miage.library.suggest;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.lookup.CatalogueLookups;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Completions of author names and book titles, loaded at startup and kept up to date with the catalogue events.
+ * <p>
+ * The popularity of an author starts with its number of books, the one of a book at zero, and both grow each time
+ * the suggestion is selected.
+ */
+@Component
+public class SuggestionIndex {
+
+    private final Map<Suggestion.Type, SuggestionTrie> tries = new EnumMap<>(Suggestion.Type.class);
+    private final AuthorService authorService;
+    private final CatalogueLookups lookups;
+
+    @Autowired
+    public SuggestionIndex(AuthorService authorService, CatalogueLookups lookups) {
+        this.authorService = authorService;
+        this.lookups = lookups;
+        for (Suggestion.Type type : Suggestion.Type.values()) {
+            tries.put(type, new SuggestionTrie());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Suggestion> authors = new ArrayList<>();
+        Map<Long, Suggestion> books = new HashMap<>();
+        for (Author author : authorService.list()) {
+            int bookCount = author.getBooks() == null ? 0 : author.getBooks().size();
+            authors.add(new Suggestion(Suggestion.Type.AUTHOR, author.getId(), author.getFullName(), bookCount));
+            if (author.getBooks() != null) {
+                for (Book book : author.getBooks()) {
+                    books.putIfAbsent(book.getId(), new Suggestion(Suggestion.Type.BOOK, book.getId(), book.getTitle(), 0));
+                }
+            }
+        }
+        tries.get(Suggestion.Type.AUTHOR).load(authors);
+        tries.get(Suggestion.Type.BOOK).load(books.values());
+    }
+
+    /**
+     * @param type  kind of suggestions, null for both
+     * @param limit maximum number of suggestions, capped to {@value SuggestionTrie#MAX_RESULTS}
+     * @return the most popular authors or books with a word starting with the prefix, most popular first
+     */
+    public List<Suggestion> suggest(String prefix, Suggestion.Type type, int limit) {
+        if (type != null) {
+            return tries.get(type).complete(prefix, limit);
+        }
+        return Stream.concat(tries.get(Suggestion.Type.AUTHOR).complete(prefix, limit).stream(),
+                        tries.get(Suggestion.Type.BOOK).complete(prefix, limit).stream())
+                .sorted(Suggestion.ORDER)
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    /**
+     * Records that a suggestion was picked, making it more popular.
+     *
+     * @return false if there is no such suggestion
+     */
+    public boolean selected(Suggestion.Type type, long id) {
+        return tries.get(type).bump(id, 1);
+    }
+
+    @EventListener
+    public void onCatalogueEvent(CatalogueEvent event) {
+        switch (event.entity()) {
+            case AUTHOR -> {
+                SuggestionTrie authors = tries.get(Suggestion.Type.AUTHOR);
+                switch (event.action()) {
+                    case SAVED, UPDATED -> lookups.findAuthor(event.id())
+                            .ifPresent(author -> authors.put(Suggestion.Type.AUTHOR, author.getId(), author.getFullName()));
+                    case DELETED -> authors.remove(event.id());
+                    default -> {
+                        // authors are added to books through book events
+                    }
+                }
+            }
+            case BOOK -> {
+                SuggestionTrie books = tries.get(Suggestion.Type.BOOK);
+                SuggestionTrie authors = tries.get(Suggestion.Type.AUTHOR);
+                switch (event.action()) {
+                    case SAVED -> {
+                        lookups.findBook(event.id())
+                                .ifPresent(book -> books.put(Suggestion.Type.BOOK, book.getId(), book.getTitle()));
+                        event.authorIds().forEach(authorId -> authors.bump(authorId, 1));
+                    }
+                    case UPDATED -> lookups.findBook(event.id())
+                            .ifPresent(book -> books.put(Suggestion.Type.BOOK, book.getId(), book.getTitle()));
+                    case DELETED -> {
+                        books.remove(event.id());
+                        event.authorIds().forEach(authorId -> authors.bump(authorId, -1));
+                    }
+                    default -> {
+                        // the event does not tell which of the authors was added
+                    }
+                }
+            }
+        }
+    }
+}
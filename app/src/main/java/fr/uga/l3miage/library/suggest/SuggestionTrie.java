@@ -0,0 +1,462 @@
+package fr.uga.l3miage.library.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Radix tree of normalized texts where every node keeps the best suggestions of its subtree: a completion is a walk
+ * down the prefix followed by a copy of at most {@link #MAX_RESULTS} suggestions, whatever the size of the index.
+ * <p>
+ * A text is indexed from each of its first {@link #MAX_WORDS} words so that "hugo" completes to "Victor Hugo",
+ * accents and punctuation are ignored. Writers are serialized while readers never lock: nodes are only modified by
+ * replacing their arrays, a split edge is replaced by a new node fully built before being linked.
+ */
+class SuggestionTrie {
+
+    static final int MAX_RESULTS = 10;
+    static final int MAX_WORDS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Node[] NO_CHILDREN = {};
+    private static final Suggestion[] NONE = {};
+
+    private volatile Node root = new Node("");
+    // writer side only, guarded by this
+    private Map<Long, Suggestion> entries = new HashMap<>();
+
+    /**
+     * @param limit maximum number of suggestions, at most {@link #MAX_RESULTS}
+     * @return the most popular suggestions with a word starting with the prefix, most popular first
+     */
+    List<Suggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (matched + common == key.length()) {
+                // the prefix ends within or at the end of the edge, the child holds every completion
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            matched += common;
+            node = child;
+        }
+        Suggestion[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(Math.max(limit, 0), top.length)));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized Suggestion get(long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Replaces the content of the index, readers see the previous content until the new one is complete.
+     */
+    synchronized void load(Collection<Suggestion> suggestions) {
+        Map<Long, Suggestion> loadedEntries = new HashMap<>(suggestions.size() * 2);
+        for (Suggestion suggestion : suggestions) {
+            loadedEntries.put(suggestion.id(), suggestion);
+        }
+        Node loaded = new Node("");
+        for (Suggestion suggestion : loadedEntries.values()) {
+            for (String key : keys(suggestion.text())) {
+                List<Node> path = insertPath(loaded, key);
+                path.get(path.size() - 1).addOwn(suggestion);
+            }
+        }
+        computeTops(loaded);
+        entries = loadedEntries;
+        root = loaded;
+    }
+
+    /**
+     * Adds a suggestion or changes its text, keeping the weight of an existing one. A null text is kept but never
+     * completed.
+     */
+    synchronized void put(Suggestion.Type type, long id, String text) {
+        Suggestion previous = entries.get(id);
+        if (previous == null) {
+            add(new Suggestion(type, id, text, 0));
+        } else if (!Objects.equals(previous.text(), text)) {
+            delete(previous);
+            add(previous.withText(text));
+        }
+    }
+
+    /**
+     * Changes the weight of a suggestion by {@code delta}.
+     *
+     * @return false if there is no suggestion with that id
+     */
+    synchronized boolean bump(long id, long delta) {
+        Suggestion previous = entries.get(id);
+        if (previous == null) {
+            return false;
+        }
+        if (delta == 0) {
+            return true;
+        }
+        Suggestion next = previous.withWeight(previous.weight() + delta);
+        if (delta >= 0) {
+            // a suggestion can only climb: replace it where it is, offer it where it was not
+            entries.put(id, next);
+            for (String key : keys(next.text())) {
+                List<Node> path = findPath(key);
+                Node terminal = path.get(path.size() - 1);
+                terminal.removeOwn(next);
+                terminal.addOwn(next);
+                promote(path, next);
+            }
+        } else {
+            delete(previous);
+            add(next);
+        }
+        return true;
+    }
+
+    synchronized boolean remove(long id) {
+        Suggestion previous = entries.get(id);
+        if (previous == null) {
+            return false;
+        }
+        delete(previous);
+        return true;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    /**
+     * @return the normalized text from the start of each of its first words
+     */
+    static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        if (!normalized.isEmpty()) {
+            keys.add(normalized);
+        }
+        for (int i = normalized.indexOf(' '); i >= 0 && keys.size() < MAX_WORDS; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private void add(Suggestion suggestion) {
+        entries.put(suggestion.id(), suggestion);
+        for (String key : keys(suggestion.text())) {
+            List<Node> path = insertPath(root, key);
+            path.get(path.size() - 1).addOwn(suggestion);
+            promote(path, suggestion);
+        }
+    }
+
+    private void delete(Suggestion suggestion) {
+        entries.remove(suggestion.id());
+        keys:
+        for (String key : keys(suggestion.text())) {
+            List<Node> path = findPath(key);
+            path.get(path.size() - 1).removeOwn(suggestion);
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                if (node.owned == 0 && node.children.length == 0) {
+                    path.get(i - 1).removeChild(node);
+                } else if (!demote(node, suggestion)) {
+                    // not among the best of this subtree, hence of none of the enclosing ones through this path
+                    continue keys;
+                }
+            }
+            demote(path.get(0), suggestion);
+        }
+    }
+
+    /**
+     * Offers a new or heavier suggestion to the nodes of a path, from the deepest one up.
+     */
+    private static void promote(List<Node> path, Suggestion suggestion) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Suggestion[] top = offer(node.top, suggestion);
+            if (top == null) {
+                // either too light for this subtree or already there through another key, same for the enclosing ones
+                return;
+            }
+            node.top = top;
+        }
+    }
+
+    /**
+     * Recomputes the best suggestions of a node if the given one was among them.
+     *
+     * @return true if the node was affected
+     */
+    private static boolean demote(Node node, Suggestion suggestion) {
+        for (Suggestion s : node.top) {
+            if (s.id() == suggestion.id()) {
+                node.top = best(node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Suggestion[] offer(Suggestion[] top, Suggestion suggestion) {
+        int existing = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i].id() == suggestion.id()) {
+                if (top[i].equals(suggestion)) {
+                    return null;
+                }
+                existing = i;
+                break;
+            }
+        }
+        if (existing < 0 && top.length == MAX_RESULTS
+                && Suggestion.ORDER.compare(suggestion, top[MAX_RESULTS - 1]) >= 0) {
+            return null;
+        }
+        List<Suggestion> updated = new ArrayList<>(top.length + 1);
+        for (int i = 0; i < top.length; i++) {
+            if (i != existing) {
+                updated.add(top[i]);
+            }
+        }
+        int at = 0;
+        while (at < updated.size() && Suggestion.ORDER.compare(updated.get(at), suggestion) < 0) {
+            at++;
+        }
+        updated.add(at, suggestion);
+        return updated.subList(0, Math.min(updated.size(), MAX_RESULTS)).toArray(NONE);
+    }
+
+    /**
+     * @return the best suggestions among the ones ending at the node and the best ones of its children
+     */
+    private static Suggestion[] best(Node node) {
+        Suggestion[] best = new Suggestion[MAX_RESULTS];
+        int size = 0;
+        for (int i = 0; i < node.owned; i++) {
+            size = keep(best, size, node.own[i]);
+        }
+        for (Node child : node.children) {
+            for (Suggestion suggestion : child.top) {
+                size = keep(best, size, suggestion);
+            }
+        }
+        return size == 0 ? NONE : Arrays.copyOf(best, size);
+    }
+
+    /**
+     * Inserts a candidate into the ordered best suggestions if it ranks high enough and is not there yet.
+     *
+     * @return the new number of best suggestions
+     */
+    private static int keep(Suggestion[] best, int size, Suggestion candidate) {
+        if (size == best.length && Suggestion.ORDER.compare(candidate, best[size - 1]) >= 0) {
+            return size;
+        }
+        for (int i = 0; i < size; i++) {
+            if (best[i].id() == candidate.id()) {
+                // the same suggestion reached through another of its words
+                return size;
+            }
+        }
+        int at = size < best.length ? size : size - 1;
+        while (at > 0 && Suggestion.ORDER.compare(candidate, best[at - 1]) < 0) {
+            best[at] = best[at - 1];
+            at--;
+        }
+        best[at] = candidate;
+        return Math.min(size + 1, best.length);
+    }
+
+    private static void computeTops(Node node) {
+        for (Node child : node.children) {
+            computeTops(child);
+        }
+        node.top = best(node);
+    }
+
+    /**
+     * @return the nodes from the root to the one ending at the key, created or split as needed
+     */
+    private static List<Node> insertPath(Node root, String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                node.addChild(child);
+                path.add(child);
+                return path;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                Node split = child.split(common);
+                node.replaceChild(child, split);
+                child = split;
+            }
+            path.add(child);
+            node = child;
+            matched += common;
+        }
+        return path;
+    }
+
+    /**
+     * @return the nodes from the root to the one ending at an indexed key
+     */
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            node = node.child(key.charAt(matched));
+            if (node == null || !key.startsWith(node.label, matched)) {
+                throw new IllegalStateException("key is not indexed: " + key);
+            }
+            path.add(node);
+            matched += node.label.length();
+        }
+        return path;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        final String label;
+        // children ordered by the first character of their label
+        volatile Node[] children = NO_CHILDREN;
+        volatile Suggestion[] top = NONE;
+        // suggestions whose key ends here, in no particular order, writer side only
+        Suggestion[] own = NONE;
+        int owned;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void addOwn(Suggestion suggestion) {
+            if (owned == own.length) {
+                own = Arrays.copyOf(own, Math.max(1, owned * 2));
+            }
+            own[owned++] = suggestion;
+        }
+
+        void removeOwn(Suggestion suggestion) {
+            for (int i = 0; i < owned; i++) {
+                if (own[i].id() == suggestion.id()) {
+                    own[i] = own[--owned];
+                    own[owned] = null;
+                    return;
+                }
+            }
+        }
+
+        Node child(char first) {
+            Node[] nodes = children;
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = nodes[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return nodes[middle];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            Node[] nodes = children;
+            int at = 0;
+            while (at < nodes.length && nodes[at].label.charAt(0) < child.label.charAt(0)) {
+                at++;
+            }
+            Node[] extended = new Node[nodes.length + 1];
+            System.arraycopy(nodes, 0, extended, 0, at);
+            extended[at] = child;
+            System.arraycopy(nodes, at, extended, at + 1, nodes.length - at);
+            children = extended;
+        }
+
+        void replaceChild(Node child, Node replacement) {
+            Node[] nodes = children.clone();
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] == child) {
+                    nodes[i] = replacement;
+                }
+            }
+            children = nodes;
+        }
+
+        void removeChild(Node child) {
+            Node[] nodes = children;
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] == child) {
+                    Node[] reduced = new Node[nodes.length - 1];
+                    System.arraycopy(nodes, 0, reduced, 0, i);
+                    System.arraycopy(nodes, i + 1, reduced, i, nodes.length - i - 1);
+                    children = reduced;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return a node for the first {@code length} characters of the label, with a copy of this one below it
+         */
+        Node split(int length) {
+            Node lower = new Node(label.substring(length));
+            lower.children = children;
+            lower.top = top;
+            lower.own = own;
+            lower.owned = owned;
+            Node upper = new Node(label.substring(0, length));
+            upper.children = new Node[]{lower};
+            upper.top = top;
+            return upper;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package fr.uga.l3miage.library.changes;
+
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    ChangeFeed changeFeed = new ChangeFeed(4);
+
+    @Test
+    void readSinceResumesAfterTheGivenSequence() {
+        for (long i = 1; i <= 3; i++) {
+            changeFeed.append(CatalogueEvent.author(CatalogueEvent.Action.SAVED, i));
+        }
+
+        ChangeFeed.Page page = changeFeed.readSince(1, 10);
+
+        assertThat(page.resync()).isFalse();
+        assertThat(page.changes()).extracting(Change::sequence).containsExactly(2L, 3L);
+        assertThat(page.changes()).extracting(Change::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void consumerBehindTheWindowMustResync() {
+        for (long i = 1; i <= 10; i++) {
+            changeFeed.append(CatalogueEvent.author(CatalogueEvent.Action.SAVED, i));
+        }
+
+        assertThat(changeFeed.readSince(2, 10).resync()).isTrue();
+        assertThat(changeFeed.readSince(6, 10).changes()).extracting(Change::sequence).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(changeFeed.readSince(0, 10).changes()).hasSize(4);
+    }
+
+    @Test
+    void consumerAheadOfTheFeedMustResync() {
+        // a cursor kept by the consumer across a restart of the application
+        changeFeed.append(CatalogueEvent.author(CatalogueEvent.Action.SAVED, 1L));
+
+        assertThat(changeFeed.readSince(5, 10).resync()).isTrue();
+        assertThat(changeFeed.readSince(1, 10).resync()).isFalse();
+        assertThat(changeFeed.readSince(1, 10).changes()).isEmpty();
+    }
+}
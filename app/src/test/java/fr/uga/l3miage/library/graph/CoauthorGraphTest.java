@@ -0,0 +1,50 @@
+package fr.uga.l3miage.library.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoauthorGraphTest {
+
+    CoauthorGraph graph = new CoauthorGraph();
+
+    @Test
+    void coauthorsAndPaths() {
+        // 1 - 2 wrote book 10, 2 - 3 book 11, 3 - 4 book 12, 5 is alone
+        graph.link(1, 10);
+        graph.link(2, 10);
+        graph.link(2, 11);
+        graph.link(3, 11);
+        graph.link(3, 12);
+        graph.link(4, 12);
+        graph.addAuthor(5);
+
+        assertThat(graph.coauthors(2)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(graph.shortestPath(1, 4)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(graph.shortestPath(4, 1)).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(graph.shortestPath(1, 5)).isNull();
+        assertThat(graph.componentStats()).isEqualTo(new ComponentStats(5, 3, 6, 2, 4, 1));
+    }
+
+    @Test
+    void followsDeletesAndRelinks() {
+        graph.link(1, 10);
+        graph.link(2, 10);
+        graph.link(2, 11);
+        graph.link(3, 11);
+
+        graph.removeBook(11);
+        assertThat(graph.shortestPath(1, 3)).isNull();
+
+        graph.relink(10, List.of(1L, 3L));
+        assertThat(graph.coauthors(1)).containsExactly(3L);
+        assertThat(graph.coauthors(2)).isEmpty();
+
+        graph.removeAuthor(3);
+        assertThat(graph.containsAuthor(3)).isFalse();
+        assertThat(graph.coauthors(1)).isEmpty();
+        assertThat(graph.componentStats().books()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,39 @@
+package fr.uga.l3miage.library.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.data.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ImportParserTest {
+
+    ImportParser csv = new ImportParser(ImportFormat.CSV, new ObjectMapper());
+    ImportParser ndjson = new ImportParser(ImportFormat.NDJSON, new ObjectMapper());
+
+    @Test
+    void parsesQuotedCsv() {
+        ImportRecord record = csv.parse("\"JPA, \"\"the\"\" book\",2145673168735453,Dunod,2023,english,Foo|Bar| Foo");
+
+        assertThat(record).isEqualTo(new ImportRecord("JPA, \"the\" book", 2145673168735453L, "Dunod", (short) 2023,
+                Book.Language.ENGLISH, List.of("Foo", "Bar")));
+        assertThat(csv.parse("title,isbn,publisher,year,language,authors")).isNull();
+    }
+
+    @Test
+    void parsesNdjson() {
+        ImportRecord record = ndjson.parse("{\"title\":\"Spring\",\"isbn\":42,\"year\":2020,\"authors\":[\"Foo\"]}");
+
+        assertThat(record).isEqualTo(new ImportRecord("Spring", 42, null, (short) 2020, Book.Language.FRENCH,
+                List.of("Foo")));
+    }
+
+    @Test
+    void rejectsBooksWithoutAuthor() {
+        assertThatIllegalArgumentException().isThrownBy(() -> csv.parse("Spring,42,Dunod,2020,french,"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ndjson.parse("{\"title\":\"Spring\",\"authors\":[]}"));
+    }
+}
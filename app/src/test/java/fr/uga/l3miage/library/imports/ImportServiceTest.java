@@ -0,0 +1,92 @@
+package fr.uga.l3miage.library.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportServiceTest {
+
+    AuthorService authorService = mock(AuthorService.class);
+    BookService bookService = mock(BookService.class);
+    // chunks of 2 lines and queues of 2 chunks, the file below fills both queues
+    ImportService imports = new ImportService(authorService, bookService, new ObjectMapper(), 2, 2, 2,
+            Duration.ofHours(1));
+
+    @AfterEach
+    void destroy() {
+        imports.destroy();
+    }
+
+    @Test
+    void failedWriteReleasesTheStages() throws Exception {
+        when(authorService.saveAll(any())).thenThrow(new IllegalStateException("disk full"));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            lines.add("Book " + i + "," + i + ",Dunod,2020,french,Author " + i);
+        }
+        Path file = Files.createTempFile("import", ".csv");
+        Files.write(file, lines);
+
+        ImportJob job = imports.submit(file, ImportFormat.CSV);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.status().state() != ImportJob.State.FAILED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.status().state()).isEqualTo(ImportJob.State.FAILED);
+        while (!runningStages().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(runningStages()).isEmpty();
+    }
+
+    @Test
+    void finishedJobsAreForgotten() throws Exception {
+        ImportService shortLived = new ImportService(authorService, bookService, new ObjectMapper(), 2, 2, 2,
+                Duration.ofMillis(50));
+        try {
+            ImportJob job = shortLived.submit(Files.createTempFile("import", ".csv"), ImportFormat.CSV);
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (job.status().state() != ImportJob.State.COMPLETED && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(job.status().state()).isEqualTo(ImportJob.State.COMPLETED);
+            while (shortLived.find(job.getId()).isPresent() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(shortLived.find(job.getId())).isEmpty();
+            assertThat(shortLived.list()).isEmpty();
+        } finally {
+            shortLived.destroy();
+        }
+    }
+
+    // the pool threads outlive the job, only the ones still reading or parsing it are looked for
+    static Set<Thread> runningStages() {
+        Set<Thread> running = new HashSet<>();
+        Thread.getAllStackTraces().forEach((thread, stack) -> {
+            if (Arrays.stream(stack).anyMatch(frame -> frame.getClassName().equals(ImportService.class.getName())
+                    && (frame.getMethodName().equals("read") || frame.getMethodName().equals("parse")))) {
+                running.add(thread);
+            }
+        });
+        return running;
+    }
+}
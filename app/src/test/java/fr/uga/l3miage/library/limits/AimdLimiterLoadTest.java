@@ -0,0 +1,75 @@
+package fr.uga.l3miage.library.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.PriorityQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulated load test: a server with {@value #WORKERS} workers and a fixed service time receives three times the
+ * load it can handle, admitted requests beyond the workers wait in a FIFO queue as they would in Tomcat.
+ */
+class AimdLimiterLoadTest {
+
+    static final int WORKERS = 10;
+    static final long SERVICE_NANOS = 10_000_000L;
+    static final long DURATION_NANOS = 20_000_000_000L;
+    static final long THRESHOLD_NANOS = 50_000_000L;
+
+    @Test
+    void p99IsBoundedUnderThreeTimesOverload() {
+        Result limited = simulate(new AimdLimiter(20, 2, 1000, 0.9, THRESHOLD_NANOS));
+        Result unlimited = simulate(null);
+
+        long capacity = WORKERS * DURATION_NANOS / SERVICE_NANOS;
+        // without limit the queue keeps growing, requests wait for seconds
+        assertThat(unlimited.p99Nanos()).isGreaterThan(1_000_000_000L);
+        // with the limit, latency stays within a small multiple of the threshold while excess requests are rejected early
+        assertThat(limited.p99Nanos()).isLessThan(3 * THRESHOLD_NANOS);
+        assertThat(limited.rejected()).isGreaterThan(capacity);
+        // and the server keeps working at full capacity
+        assertThat(limited.served()).isGreaterThan(capacity * 95 / 100);
+    }
+
+    private static Result simulate(AimdLimiter limiter) {
+        long interArrival = SERVICE_NANOS / WORKERS / 3;
+        PriorityQueue<long[]> running = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        Deque<Long> queued = new ArrayDeque<>();
+        long[] latencies = new long[(int) (DURATION_NANOS / interArrival) + 1];
+        int served = 0;
+        long rejected = 0;
+
+        for (long now = 0; now < DURATION_NANOS; now += interArrival) {
+            // completes every request finished before this arrival, freeing workers for queued ones
+            while (!running.isEmpty() && running.peek()[0] <= now) {
+                long[] done = running.poll();
+                long latency = done[0] - done[1];
+                latencies[served++] = latency;
+                if (limiter != null) {
+                    limiter.release(latency, false);
+                }
+                if (!queued.isEmpty()) {
+                    running.add(new long[]{done[0] + SERVICE_NANOS, queued.poll()});
+                }
+            }
+            if (limiter != null && !limiter.tryAcquire()) {
+                rejected++;
+            } else if (running.size() < WORKERS) {
+                running.add(new long[]{now + SERVICE_NANOS, now});
+            } else {
+                queued.add(now);
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, served);
+        Arrays.sort(sorted);
+        return new Result(served, rejected, sorted[(int) (served * 0.99)]);
+    }
+
+    record Result(int served, long rejected, long p99Nanos) {
+    }
+}
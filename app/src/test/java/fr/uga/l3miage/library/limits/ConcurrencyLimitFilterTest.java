@@ -0,0 +1,23 @@
+package fr.uga.l3miage.library.limits;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void groupsAreTheKnownResources() {
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("GET", "/api/v1/authors/1"))).isEqualTo("authors:read");
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("POST", "/api/v1/imports"))).isEqualTo("imports:write");
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("GET", "/api/books/2/recommendations"))).isEqualTo("books:read");
+    }
+
+    @Test
+    void unknownPathsShareOneGroup() {
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("GET", "/api/v1/x1"))).isEqualTo("other:read");
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("GET", "/api/x2/y"))).isEqualTo("other:read");
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("DELETE", "/api/"))).isEqualTo("other:write");
+    }
+}
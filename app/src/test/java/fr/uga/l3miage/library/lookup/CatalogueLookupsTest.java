@@ -0,0 +1,122 @@
+package fr.uga.l3miage.library.lookup;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.BookService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogueLookupsTest {
+
+    AuthorService authorService = mock(AuthorService.class);
+    BookService bookService = mock(BookService.class);
+    QueryResultCache resultCache = new QueryResultCache(DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+    CatalogueLookups lookups = new CatalogueLookups(authorService, bookService, resultCache,
+            new SimpleMeterRegistry());
+
+    @Test
+    void bookSearchesAreCachedUntilABookChanges() {
+        Book before = book("JPA");
+        Book after = book("JPA, second edition");
+        when(bookService.findByTitle("jpa")).thenReturn(List.of(before), List.of(after));
+
+        assertThat(lookups.findBooks("jpa")).containsExactly(before);
+        assertThat(lookups.findBooks("JPA")).containsExactly(before);
+        verify(bookService, times(1)).findByTitle(any());
+
+        write(CatalogueEvent.book(CatalogueEvent.Action.UPDATED, 10L, List.of(1L)));
+
+        assertThat(lookups.findBooks("jpa")).containsExactly(after);
+        verify(bookService, times(2)).findByTitle(any());
+    }
+
+    @Test
+    void booksOfAnAuthorAreCachedUntilOneOfItsBooksChanges() throws Exception {
+        Book before = book("JPA");
+        Book after = book("JPA, second edition");
+        when(bookService.findByAuthor(1L, "")).thenReturn(List.of(before), List.of(after));
+
+        assertThat(lookups.findBooksByAuthor(1L, "")).containsExactly(before);
+        write(CatalogueEvent.book(CatalogueEvent.Action.SAVED, 11L, List.of(2L)));
+        assertThat(lookups.findBooksByAuthor(1L, "")).containsExactly(before);
+        verify(bookService, times(1)).findByAuthor(any(), any());
+
+        write(CatalogueEvent.book(CatalogueEvent.Action.DELETED, 10L, List.of(1L)));
+
+        assertThat(lookups.findBooksByAuthor(1L, "")).containsExactly(after);
+        verify(bookService, times(2)).findByAuthor(any(), any());
+    }
+
+    @Test
+    void searchAfterAWriteDoesNotJoinASearchStartedBefore() throws Exception {
+        Author before = author("Victor Hugo");
+        Author after = author("Victor Hugo (updated)");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger searches = new AtomicInteger();
+        when(authorService.searchByName("victor")).thenAnswer(invocation -> {
+            if (searches.getAndIncrement() == 0) {
+                started.countDown();
+                release.await();
+                return List.of(before);
+            }
+            return List.of(after);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Collection<Author>> first = executor.submit(() -> lookups.searchAuthors("victor"));
+            started.await();
+            // the cache hears of the write, the flights not yet
+            resultCache.onCatalogueEvent(CatalogueEvent.author(CatalogueEvent.Action.UPDATED, 1L));
+
+            Future<Collection<Author>> second = executor.submit(() -> lookups.searchAuthors("victor"));
+
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(after);
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly(before);
+            assertThat(lookups.searchAuthors("victor")).containsExactly(after);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    // as delivered by the application context, to every listener
+    void write(CatalogueEvent event) {
+        resultCache.onCatalogueEvent(event);
+        lookups.onCatalogueEvent(event);
+    }
+
+    static Book book(String title) {
+        Book book = new Book();
+        book.setId(10L);
+        book.setTitle(title);
+        return book;
+    }
+
+    static Author author(String fullName) {
+        Author author = new Author();
+        author.setId(1L);
+        author.setFullName(fullName);
+        return author;
+    }
+}
@@ -0,0 +1,44 @@
+package fr.uga.l3miage.library.lookup;
+
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryResultCacheTest {
+
+    QueryResultCache cache = new QueryResultCache(DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+    @Test
+    void writesOnlyInvalidateTheDependentResults() {
+        var byName = new QueryResultCache.Key(QueryResultCache.Kind.AUTHORS_BY_NAME, null, "bor");
+        var byTitle = new QueryResultCache.Key(QueryResultCache.Kind.BOOKS_BY_TITLE, null, "jpa");
+        var ofAuthor1 = new QueryResultCache.Key(QueryResultCache.Kind.BOOKS_BY_AUTHOR, 1L, "jpa");
+        var ofAuthor2 = new QueryResultCache.Key(QueryResultCache.Kind.BOOKS_BY_AUTHOR, 2L, "jpa");
+        for (var key : List.of(byName, byTitle, ofAuthor1, ofAuthor2)) {
+            cache.put(key, cache.generation(key), List.of(key.kind().name()));
+        }
+
+        cache.onCatalogueEvent(CatalogueEvent.book(CatalogueEvent.Action.SAVED, 10L, List.of(1L)));
+
+        assertThat(cache.<String>get(byName)).containsExactly("AUTHORS_BY_NAME");
+        assertThat(cache.<String>get(byTitle)).isNull();
+        assertThat(cache.<String>get(ofAuthor1)).isNull();
+        assertThat(cache.<String>get(ofAuthor2)).containsExactly("BOOKS_BY_AUTHOR");
+    }
+
+    @Test
+    void resultComputedDuringAWriteIsNotServed() {
+        var key = new QueryResultCache.Key(QueryResultCache.Kind.AUTHORS_BY_NAME, null, "bor");
+        long generation = cache.generation(key);
+
+        cache.onCatalogueEvent(CatalogueEvent.author(CatalogueEvent.Action.SAVED, 1L));
+        cache.put(key, generation, List.of("stale"));
+
+        assertThat(cache.<String>get(key)).isNull();
+    }
+}
@@ -0,0 +1,99 @@
+package fr.uga.l3miage.library.lookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.authors.AuthorMapper;
+import fr.uga.l3miage.library.books.BooksMapper;
+import fr.uga.l3miage.library.service.CatalogueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedResponseCacheTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    AuthorMapper authorMapper = Mappers.getMapper(AuthorMapper.class);
+    BooksMapper booksMapper = Mappers.getMapper(BooksMapper.class);
+    SerializedResponseCache cache = new SerializedResponseCache(authorMapper, booksMapper, objectMapper,
+            DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+    @Test
+    void fragmentsAreTheSerializedDTOs() throws Exception {
+        Author author = author(1L, "Victor Hugo");
+        Book book = book(10L, author);
+
+        assertThat(cache.author(author, cache.token())).isEqualTo(objectMapper.writeValueAsBytes(authorMapper.entityToDTO(author)));
+        assertThat(cache.book(book, cache.token())).isEqualTo(objectMapper.writeValueAsBytes(booksMapper.entityToDTO(book)));
+        assertThat(cache.author(1L)).isEqualTo(objectMapper.writeValueAsBytes(authorMapper.entityToDTO(author)));
+        assertThat(cache.author(2L)).isNull();
+    }
+
+    @Test
+    void writesOnlyInvalidateTheDependentFragments() {
+        Author hugo = author(1L, "Victor Hugo");
+        Author dumas = author(2L, "Alexandre Dumas");
+        cache.author(hugo, cache.token());
+        cache.author(dumas, cache.token());
+        cache.book(book(10L, hugo), cache.token());
+        cache.book(book(11L, dumas), cache.token());
+
+        cache.onCatalogueEvent(CatalogueEvent.author(CatalogueEvent.Action.UPDATED, 1L));
+
+        assertThat(cache.author(1L)).isNull();
+        assertThat(cache.book(10L)).isNull();
+        assertThat(cache.author(2L)).isNotNull();
+        assertThat(cache.book(11L)).isNotNull();
+
+        cache.onCatalogueEvent(CatalogueEvent.book(CatalogueEvent.Action.UPDATED, 11L, List.of(2L)));
+
+        assertThat(cache.author(2L)).isNotNull();
+        assertThat(cache.book(11L)).isNull();
+    }
+
+    @Test
+    void fragmentEncodedDuringAWriteIsNotStored() {
+        Author author = author(1L, "Victor Hugo");
+        long token = cache.token();
+
+        cache.onCatalogueEvent(CatalogueEvent.author(CatalogueEvent.Action.UPDATED, 1L));
+
+        assertThat(cache.author(author, token)).isNotNull();
+        assertThat(cache.author(1L)).isNull();
+    }
+
+    @Test
+    void arraysAreConcatenatedFragments() throws Exception {
+        List<Author> authors = List.of(author(1L, "Victor Hugo"), author(2L, "Alexandre Dumas"));
+        long token = cache.token();
+
+        byte[] array = SerializedResponseCache.array(authors.stream().map(author -> cache.author(author, token)).toList());
+
+        assertThat(new String(array, StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(authorMapper.entityToDTO(authors)));
+        assertThat(SerializedResponseCache.array(List.of())).asString(StandardCharsets.UTF_8).isEqualTo("[]");
+    }
+
+    static Author author(Long id, String fullName) {
+        Author author = new Author();
+        author.setId(id);
+        author.setFullName(fullName);
+        return author;
+    }
+
+    static Book book(Long id, Author... authors) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setLanguage(Book.Language.FRENCH);
+        book.setAuthors(Set.of(authors));
+        return book;
+    }
+}
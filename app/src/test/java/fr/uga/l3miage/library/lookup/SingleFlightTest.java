@@ -0,0 +1,59 @@
+package fr.uga.l3miage.library.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    SingleFlight<String, Integer> flights = new SingleFlight<>();
+
+    @Test
+    void concurrentIdenticalCallsShareOneComputation() throws Exception {
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flights.execute("key", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return 42;
+                })));
+            }
+            while (flights.executedCalls() + flights.coalescedCalls() < callers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(flights.coalescedCalls()).isEqualTo(callers - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedCallsAreNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        flights.execute("key", loads::incrementAndGet);
+        flights.execute("key", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,88 @@
+package fr.uga.l3miage.library.recommendations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoBorrowMatrixTest {
+
+    @Test
+    void neighborsAreTheBooksMostOftenBorrowedTogether() {
+        CoBorrowMatrix matrix = new CoBorrowMatrix(16, 2);
+        matrix.record(new long[]{1, 2, 3});
+        matrix.record(new long[]{1, 3});
+        matrix.record(new long[]{1, 3, 4});
+        matrix.record(new long[]{1, 4});
+
+        assertThat(matrix.neighbors(1)).containsExactly(3, 4);
+        assertThat(matrix.neighbors(3)).containsExactly(1, 2);
+        assertThat(matrix.neighbors(5)).isEmpty();
+    }
+
+    @Test
+    void rowsAreBoundedAndKeepFrequentBooks() {
+        CoBorrowMatrix matrix = new CoBorrowMatrix(4, 1);
+        for (long other = 100; other < 200; other++) {
+            matrix.record(new long[]{1, other});
+            if (other % 3 == 0) {
+                matrix.record(new long[]{1, 2});
+                matrix.record(new long[]{1, 2});
+            }
+        }
+
+        assertThat(matrix.neighbors(1)).containsExactly(2);
+    }
+
+    @Test
+    void removedBooksHaveNoNeighbors() {
+        CoBorrowMatrix matrix = new CoBorrowMatrix(16, 4);
+        matrix.record(new long[]{1, 2});
+
+        matrix.remove(1);
+
+        assertThat(matrix.neighbors(1)).isEmpty();
+        assertThat(matrix.rows()).isEqualTo(1);
+    }
+
+    @Test
+    void parallelBuildCountsLikeRecording() {
+        Random random = new Random(42);
+        List<long[]> loans = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            loans.add(random.longs(1 + random.nextInt(4), 0, 200).distinct().toArray());
+        }
+        CoBorrowMatrix recorded = new CoBorrowMatrix(1_000, 5);
+        loans.forEach(recorded::record);
+
+        for (int shards : new int[]{1, 8, 64}) {
+            CoBorrowMatrix built = CoBorrowMatrix.build(loans, 1_000, 5, shards);
+
+            assertThat(built.rows()).isEqualTo(recorded.rows());
+            for (long book = 0; book < 200; book++) {
+                assertThat(built.neighbors(book)).containsExactly(recorded.neighbors(book));
+            }
+        }
+    }
+
+    @Test
+    void removingKeepsTheOtherKeysReachable() {
+        LongIntMap map = new LongIntMap(4);
+        for (long key = 0; key < 1_000; key++) {
+            map.add(key, (int) key + 1);
+        }
+        for (long key = 0; key < 1_000; key += 2) {
+            map.remove(key);
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        for (long key = 0; key < 1_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? 0 : (int) key + 1);
+        }
+        assertThat(map.minKey()).isEqualTo(1);
+        assertThat(map.top(2)).containsExactly(999, 997);
+    }
+}
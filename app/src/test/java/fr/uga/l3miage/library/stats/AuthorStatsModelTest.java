@@ -0,0 +1,138 @@
+package fr.uga.l3miage.library.stats;
+
+import fr.uga.l3miage.data.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorStatsModelTest {
+
+    AuthorStatsModel model = new AuthorStatsModel();
+
+    @Test
+    void booksAddUpPerAuthor() {
+        model.putAuthor(1, "Victor Hugo");
+        model.putAuthor(2, "Alexandre Dumas");
+        model.putAuthor(3, "Jules Verne");
+        model.putBook(10, (short) 1831, Book.Language.FRENCH, new long[]{1});
+        model.putBook(11, (short) 1862, Book.Language.FRENCH, new long[]{1, 2});
+        model.putBook(12, (short) 1844, Book.Language.ENGLISH, new long[]{2});
+
+        assertThat(model.list()).containsExactlyInAnyOrder(
+                new AuthorStatsDTO(1L, "Victor Hugo", 2, (short) 1862, List.of("french")),
+                new AuthorStatsDTO(2L, "Alexandre Dumas", 2, (short) 1862, List.of("french", "english")),
+                new AuthorStatsDTO(3L, "Jules Verne", 0, null, List.of()));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        model.putAuthor(1, "Victor Hugo");
+        model.putAuthor(2, "Alexandre Dumas");
+        model.putBook(10, (short) 1831, Book.Language.FRENCH, new long[]{1});
+        model.putBook(11, (short) 1862, Book.Language.ENGLISH, new long[]{1});
+
+        // the latest book goes away, the previous one is the latest again
+        model.removeBook(11);
+        assertThat(model.get(1)).isEqualTo(new AuthorStatsDTO(1L, "Victor Hugo", 1, (short) 1831, List.of("french")));
+
+        // a book changing authors and year moves from one author to the other
+        model.putBook(10, (short) 1840, Book.Language.FRENCH, new long[]{2});
+        assertThat(model.get(1)).isEqualTo(new AuthorStatsDTO(1L, "Victor Hugo", 0, null, List.of()));
+        assertThat(model.get(2)).isEqualTo(new AuthorStatsDTO(2L, "Alexandre Dumas", 1, (short) 1840, List.of("french")));
+
+        model.putAuthor(2, "A. Dumas");
+        model.removeAuthor(1);
+        assertThat(model.get(1)).isNull();
+        assertThat(model.list()).containsExactly(new AuthorStatsDTO(2L, "A. Dumas", 1, (short) 1840, List.of("french")));
+
+        // the slot of the removed author starts from scratch
+        model.putAuthor(3, "Jules Verne");
+        assertThat(model.get(3)).isEqualTo(new AuthorStatsDTO(3L, "Jules Verne", 0, null, List.of()));
+    }
+
+    @Test
+    void staysConsistentWithAFullRecomputation() {
+        Random random = new Random(42);
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, ExpectedBook> books = new HashMap<>();
+        for (int operation = 0; operation < 2000; operation++) {
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    long authorId = random.nextInt(40);
+                    String name = "Author " + authorId + "." + operation;
+                    model.putAuthor(authorId, name);
+                    names.put(authorId, name);
+                }
+                case 1 -> {
+                    long bookId = random.nextInt(60);
+                    // few years so that the latest one is often shared
+                    short year = (short) (1900 + random.nextInt(4));
+                    Book.Language language = random.nextInt(5) == 0 ? null
+                            : Book.Language.values()[random.nextInt(Book.Language.values().length)];
+                    long[] authorIds = new long[random.nextInt(4)];
+                    Set<Long> authors = new HashSet<>();
+                    for (int i = 0; i < authorIds.length; i++) {
+                        authorIds[i] = random.nextInt(40);
+                        authors.add(authorIds[i]);
+                        // books bring their unknown authors, without a name
+                        names.putIfAbsent(authorIds[i], null);
+                    }
+                    model.putBook(bookId, year, language, authorIds);
+                    books.put(bookId, new ExpectedBook(year, language, authors));
+                }
+                case 2 -> {
+                    long bookId = random.nextInt(60);
+                    model.removeBook(bookId);
+                    books.remove(bookId);
+                }
+                default -> {
+                    long authorId = random.nextInt(40);
+                    model.removeAuthor(authorId);
+                    names.remove(authorId);
+                    books.values().forEach(book -> book.authors().remove(authorId));
+                }
+            }
+            List<AuthorStatsDTO> expected = recompute(names, books);
+            assertThat(model.list()).as("operation %d", operation).containsExactlyInAnyOrder(expected.toArray());
+        }
+    }
+
+    private static List<AuthorStatsDTO> recompute(Map<Long, String> names, Map<Long, ExpectedBook> books) {
+        List<AuthorStatsDTO> rows = new ArrayList<>();
+        for (Map.Entry<Long, String> author : names.entrySet()) {
+            int count = 0;
+            Short latestYear = null;
+            Set<Book.Language> languages = new HashSet<>();
+            for (ExpectedBook book : books.values()) {
+                if (book.authors().contains(author.getKey())) {
+                    count++;
+                    latestYear = latestYear == null || book.year() > latestYear ? book.year() : latestYear;
+                    if (book.language() != null) {
+                        languages.add(book.language());
+                    }
+                }
+            }
+            Set<String> languageNames = new LinkedHashSet<>();
+            for (Book.Language language : Book.Language.values()) {
+                if (languages.contains(language)) {
+                    languageNames.add(language.name().toLowerCase(Locale.ROOT));
+                }
+            }
+            rows.add(new AuthorStatsDTO(author.getKey(), author.getValue(), count, latestYear, List.copyOf(languageNames)));
+        }
+        return rows;
+    }
+
+    record ExpectedBook(short year, Book.Language language, Set<Long> authors) {
+    }
+}
@@ -0,0 +1,126 @@
+package fr.uga.l3miage.library.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    SuggestionTrie trie = new SuggestionTrie();
+
+    @Test
+    void completesAnyWordIgnoringCaseAndAccents() {
+        trie.put(Suggestion.Type.BOOK, 1, "Les Misérables");
+        trie.put(Suggestion.Type.BOOK, 2, "Notre-Dame de Paris");
+        trie.put(Suggestion.Type.BOOK, 3, "Le Dernier Jour d'un condamné");
+
+        assertThat(ids(trie.complete("miser", 10))).containsExactly(1L);
+        assertThat(ids(trie.complete("les mis", 10))).containsExactly(1L);
+        assertThat(ids(trie.complete("NOTRE dame", 10))).containsExactly(2L);
+        assertThat(ids(trie.complete("condamne", 10))).containsExactly(3L);
+        assertThat(ids(trie.complete("d", 10))).containsExactly(3L, 2L);
+        assertThat(trie.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void mostPopularComeFirstAndFollowUpdates() {
+        trie.put(Suggestion.Type.AUTHOR, 1, "Victor Hugo");
+        trie.put(Suggestion.Type.AUTHOR, 2, "Victoria Holt");
+        trie.put(Suggestion.Type.AUTHOR, 3, "Vicki Baum");
+        assertThat(ids(trie.complete("vic", 10))).containsExactly(3L, 1L, 2L);
+
+        trie.bump(2, 5);
+        trie.bump(1, 2);
+        assertThat(ids(trie.complete("vic", 2))).containsExactly(2L, 1L);
+
+        trie.bump(2, -4);
+        trie.put(Suggestion.Type.AUTHOR, 3, "Pearl Buck");
+        assertThat(ids(trie.complete("vic", 10))).containsExactly(1L, 2L);
+        assertThat(trie.get(3).weight()).isZero();
+
+        trie.remove(1);
+        assertThat(ids(trie.complete("h", 10))).containsExactly(2L);
+        assertThat(trie.size()).isEqualTo(2);
+    }
+
+    @Test
+    void nullTextIsKeptButNeverCompleted() {
+        trie.put(Suggestion.Type.AUTHOR, 1, "Victor Hugo");
+        trie.put(Suggestion.Type.AUTHOR, 1, null);
+        trie.put(Suggestion.Type.AUTHOR, 1, null);
+        assertThat(trie.complete("vic", 10)).isEmpty();
+        assertThat(trie.get(1).text()).isNull();
+
+        trie.put(Suggestion.Type.AUTHOR, 1, "Victor Hugo");
+        assertThat(ids(trie.complete("vic", 10))).containsExactly(1L);
+        assertThat(Suggestion.ORDER.compare(trie.get(1), new Suggestion(Suggestion.Type.AUTHOR, 2, null, 0))).isNegative();
+    }
+
+    @Test
+    void staysConsistentWithAFullScan() {
+        String[] words = {"victor", "hugo", "vic", "hu", "ursula", "le", "guin", "les", "misérables", "misère", "a", "ab"};
+        String[] prefixes = {"", "v", "vic", "victor h", "h", "hu", "mis", "misera", "le", "a", "ab", "ursula le g", "z"};
+        Random random = new Random(42);
+        Map<Long, Suggestion> expected = new HashMap<>();
+        List<Suggestion> initial = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Suggestion suggestion = new Suggestion(Suggestion.Type.BOOK, random.nextInt(40), text(random, words), random.nextInt(5));
+            initial.add(suggestion);
+            expected.put(suggestion.id(), suggestion);
+        }
+        trie.load(initial);
+
+        for (int operation = 0; operation < 2000; operation++) {
+            long id = random.nextInt(40);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    String text = text(random, words);
+                    trie.put(Suggestion.Type.BOOK, id, text);
+                    Suggestion previous = expected.get(id);
+                    expected.put(id, previous == null ? new Suggestion(Suggestion.Type.BOOK, id, text, 0) : previous.withText(text));
+                }
+                case 1 -> {
+                    long delta = random.nextInt(7) - 3;
+                    if (trie.bump(id, delta)) {
+                        expected.put(id, expected.get(id).withWeight(expected.get(id).weight() + delta));
+                    }
+                }
+                default -> {
+                    trie.remove(id);
+                    expected.remove(id);
+                }
+            }
+            for (String prefix : prefixes) {
+                assertThat(trie.complete(prefix, SuggestionTrie.MAX_RESULTS)).as(prefix).isEqualTo(scan(expected, prefix));
+            }
+        }
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+
+    private static String text(Random random, String[] words) {
+        StringBuilder text = new StringBuilder();
+        int wordCount = 1 + random.nextInt(3);
+        for (int i = 0; i < wordCount; i++) {
+            text.append(i == 0 ? "" : random.nextBoolean() ? " " : ", ").append(words[random.nextInt(words.length)]);
+        }
+        return text.toString();
+    }
+
+    private static List<Suggestion> scan(Map<Long, Suggestion> suggestions, String prefix) {
+        String key = SuggestionTrie.normalize(prefix);
+        return suggestions.values().stream()
+                .filter(s -> SuggestionTrie.keys(s.text()).stream().anyMatch(k -> k.startsWith(key)))
+                .sorted(Suggestion.ORDER)
+                .limit(SuggestionTrie.MAX_RESULTS)
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package fr.uga.l3miage.library.benchmarks;
+
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.library.stats.AuthorStatsDTO;
+import fr.uga.l3miage.library.stats.AuthorStatsModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The author statistics read model of the app: listing every author, and replacing a book as done on each book
+ * event, with three books per author.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar AuthorStatsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorStatsBenchmark {
+
+    private static final Book.Language[] LANGUAGES = Book.Language.values();
+
+    @Param({"10000", "100000"})
+    public int authors;
+
+    private final AuthorStatsModel model = new AuthorStatsModel();
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() {
+        for (long author = 0; author < authors; author++) {
+            model.putAuthor(author, "Author " + author);
+        }
+        for (long book = 0; book < authors; book++) {
+            putBook(book);
+        }
+    }
+
+    @Benchmark
+    public List<AuthorStatsDTO> list() {
+        return model.list();
+    }
+
+    @Benchmark
+    public void putBook() {
+        putBook(random.nextInt(authors));
+    }
+
+    // each book has three consecutive authors, each author three books
+    private void putBook(long book) {
+        model.putBook(book, (short) (1900 + random.nextInt(120)), LANGUAGES[random.nextInt(LANGUAGES.length)],
+                new long[]{book, (book + 1) % authors, (book + 2) % authors});
+    }
+}
@@ -0,0 +1,102 @@
+package fr.uga.l3miage.library.benchmarks;
+
+import fr.uga.l3miage.library.service.mock.AuthorNameIndex;
+import fr.uga.l3miage.library.service.mock.BkTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misspelled author name searches: the BK-tree index of the mock service versus computing the edit distance to
+ * every word of every name.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar FuzzySearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final String[] SYLLABLES = {"bor", "di", "go", "ni", "hu", "vic", "tor", "ma", "ri", "le", "gu",
+            "in", "sa", "mu", "el", "pa", "ker", "ton", "lo", "us"};
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "100000"})
+    public int authors;
+
+    private final AuthorNameIndex index = new AuthorNameIndex();
+    private final Map<Long, String[]> names = new HashMap<>();
+    private final String[] queries = new String[QUERIES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (long id = 0; id < authors; id++) {
+            String name = word(random) + " " + word(random);
+            index.put(id, name);
+            names.put(id, name.split(" "));
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            // a real last name with one letter replaced
+            char[] word = names.get((long) random.nextInt(authors))[1].toCharArray();
+            word[random.nextInt(word.length)] = (char) ('a' + random.nextInt(26));
+            queries[i] = new String(word);
+        }
+    }
+
+    @Benchmark
+    public List<Long> bkTree() {
+        return index.search(nextQuery());
+    }
+
+    @Benchmark
+    public List<Long> bruteForce() {
+        String query = nextQuery();
+        int maxEdits = query.length() <= 2 ? 0 : query.length() <= 5 ? 1 : 2;
+        List<Map.Entry<Long, Integer>> matches = new ArrayList<>();
+        for (Map.Entry<Long, String[]> author : names.entrySet()) {
+            int best = Integer.MAX_VALUE;
+            for (String word : author.getValue()) {
+                best = Math.min(best, BkTree.distance(query, word));
+            }
+            if (best <= maxEdits) {
+                matches.add(Map.entry(author.getKey(), best));
+            }
+        }
+        matches.sort(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        return matches.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package fr.uga.l3miage.library.benchmarks;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import fr.uga.l3miage.library.service.mock.AuthorServiceMockImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author lookups where 90% of the ids do not exist, as when crawlers probe random ids:
+ * {@code get} raising {@link EntityNotFoundException} versus {@code find} returning an empty optional.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar NotFoundBenchmark -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    private static final int AUTHORS = 10_000;
+    private static final int LOOKUPS = 1024;
+
+    private final AuthorServiceMockImpl authorService = new AuthorServiceMockImpl();
+    private final Long[] ids = new Long[LOOKUPS];
+
+    @Setup
+    public void setUp() {
+        long[] existing = new long[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setFullName("Author " + i);
+            existing[i] = authorService.save(author).getId();
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = random.nextInt(10) == 0
+                    ? existing[random.nextInt(AUTHORS)]
+                    : Long.MIN_VALUE + random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public void getWithException(Blackhole blackhole) {
+        for (Long id : ids) {
+            try {
+                blackhole.consume(authorService.get(id));
+            } catch (EntityNotFoundException e) {
+                blackhole.consume(e.getMessage());
+            }
+        }
+    }
+
+    @Benchmark
+    public void findWithOptional(Blackhole blackhole) {
+        for (Long id : ids) {
+            blackhole.consume(authorService.find(id).orElse(null));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package fr.uga.l3miage.library.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.library.authors.AuthorDTO;
+import fr.uga.l3miage.library.authors.AuthorMapper;
+import fr.uga.l3miage.library.books.BooksMapper;
+import fr.uga.l3miage.library.lookup.SerializedResponseCache;
+import fr.uga.l3miage.library.service.mock.AuthorServiceMockImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of author reads: mapping each entity to its DTO and serializing it on every request, versus the
+ * {@link SerializedResponseCache} of the app, called as {@code AuthorsController} does.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar SerializedResponseBenchmark -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializedResponseBenchmark {
+
+    private static final int AUTHORS = 10_000;
+    private static final int READS = 1024;
+
+    @Param({"1", "100"})
+    public int size;
+
+    private final AuthorServiceMockImpl authorService = new AuthorServiceMockImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuthorMapper authorMapper = Mappers.getMapper(AuthorMapper.class);
+    private final SerializedResponseCache responses = new SerializedResponseCache(authorMapper,
+            Mappers.getMapper(BooksMapper.class), objectMapper, DataSize.ofMegabytes(32), new SimpleMeterRegistry());
+    private final List<List<Long>> reads = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long[] ids = new long[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setFullName("Author " + i);
+            ids[i] = authorService.save(author).getId();
+            responses.author(author, responses.token());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < READS; i++) {
+            List<Long> read = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                read.add(ids[random.nextInt(AUTHORS)]);
+            }
+            reads.add(read);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        List<Long> read = nextRead();
+        if (size == 1) {
+            return objectMapper.writeValueAsBytes(authorMapper.entityToDTO(authorService.find(read.get(0)).orElseThrow()));
+        }
+        List<AuthorDTO> authors = new ArrayList<>(read.size());
+        for (Long id : read) {
+            authors.add(authorMapper.entityToDTO(authorService.find(id).orElseThrow()));
+        }
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    @Benchmark
+    public byte[] cachedFragments() {
+        List<Long> read = nextRead();
+        if (size == 1) {
+            return responses.author(read.get(0));
+        }
+        // the entities of a list are still loaded, only their mapping and serialization are saved
+        long token = responses.token();
+        List<byte[]> elements = new ArrayList<>(read.size());
+        for (Long id : read) {
+            elements.add(responses.author(authorService.find(id).orElseThrow(), token));
+        }
+        return SerializedResponseCache.array(elements);
+    }
+
+    private List<Long> nextRead() {
+        return reads.get(next++ & (READS - 1));
+    }
+}
@@ -0,0 +1,70 @@
+package fr.uga.l3miage.library.benchmarks;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.library.service.mock.ShardedStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search over the sharded store with a growing number of cores, to check that the fan-out scales.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar ShardedScanBenchmark} on a machine with at least
+ * 16 cores, the speedup is the ratio between the {@code parallelism=1} score and the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardedScanBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    @Param({"64"})
+    public int partitions;
+
+    @Param({"2000000"})
+    public int authors;
+
+    private ForkJoinPool pool;
+    private ShardedStore<Author> store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        store = new ShardedStore<>(partitions, pool);
+        for (long id = 0; id < authors; id++) {
+            Author author = new Author();
+            author.setId(id);
+            author.setFullName("Author number " + id);
+            store.put(id, author);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Author> searchByName() {
+        return store.filter(author -> author.getFullName().toLowerCase().contains("99"));
+    }
+}
@@ -0,0 +1,78 @@
+package fr.uga.l3miage.library.suggest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion latency of the typeahead trie of the app, sampled so that the report gives its percentiles: p99 is
+ * expected under a millisecond with a million entries. In the package of the trie, which is not public.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar SuggestionTrieBenchmark -jvmArgs -Xmx2g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+
+    private static final String[] SYLLABLES = {"ra", "mo", "li", "ver", "tan", "ko", "su", "bel", "dor", "fi", "gu",
+            "ha", "je", "ny", "pe"};
+    private static final int PREFIXES = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    public int entries;
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+    private final String[] prefixes = new String[PREFIXES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<Suggestion> suggestions = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            suggestions.add(new Suggestion(Suggestion.Type.BOOK, i, text(random), random.nextInt(1000)));
+        }
+        trie.load(suggestions);
+        for (int i = 0; i < PREFIXES; i++) {
+            // the first letters of an indexed text, as typed in the search box
+            String text = suggestions.get(random.nextInt(entries)).text();
+            prefixes[i] = text.substring(0, 1 + random.nextInt(Math.min(8, text.length())));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> complete() {
+        next = (next + 1) & (PREFIXES - 1);
+        return trie.complete(prefixes[next], SuggestionTrie.MAX_RESULTS);
+    }
+
+    private static String text(Random random) {
+        StringBuilder text = new StringBuilder();
+        int words = 2 + random.nextInt(3);
+        for (int word = 0; word < words; word++) {
+            text.append(word == 0 ? "" : " ");
+            int syllables = 1 + random.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,41 @@
+#!/bin/sh
+# Runs the load test against the application built with each service profile, offline on localhost.
+#
+# usage: load-test/run.sh [profiles...] [-- load test options]
+#   load-test/run.sh mock -- --duration 60 --concurrency 32
+#
+# Only mock runs by default: service-impl has no AuthorService nor BookService yet, the application does not start
+# with the impl profile until they are written.
+#
+# Reports are written to load-test/target/report-<profile>.json.
+set -e
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-18082}
+
+PROFILES=""
+while [ $# -gt 0 ] && [ "$1" != "--" ]; do
+    PROFILES="$PROFILES $1"
+    shift
+done
+[ "$1" = "--" ] && shift
+[ -z "$PROFILES" ] && PROFILES="mock"
+
+./mvnw -B -o -q -DskipTests -pl load-test -am package
+
+for PROFILE in $PROFILES; do
+    ./mvnw -B -o -q -DskipTests -P"$PROFILE" install -pl app -am
+    JAR=$(ls app/target/app-*-exec.jar | head -n 1)
+    java -Dserver.port="$PORT" -jar "$JAR" > "load-test/target/app-$PROFILE.log" 2>&1 &
+    PID=$!
+    until curl -sf "http://localhost:$PORT/api/v1/authors" > /dev/null; do
+        if ! kill -0 $PID 2> /dev/null; then
+            echo "application did not start with profile $PROFILE, see load-test/target/app-$PROFILE.log" >&2
+            continue 2
+        fi
+        sleep 0.2
+    done
+    java -jar load-test/target/load-test.jar --base-url "http://localhost:$PORT" --profile "$PROFILE" "$@" || true
+    kill -TERM $PID
+    wait $PID || true
+done
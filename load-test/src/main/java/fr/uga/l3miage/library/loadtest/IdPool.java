@@ -0,0 +1,34 @@
+package fr.uga.l3miage.library.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of the entities known to exist, used to fill {@code {{authorId}}}-like variables.
+ * Bounded: once full, new ids replace random ones.
+ */
+class IdPool {
+
+    private static final int CAPACITY = 100_000;
+
+    private long[] ids = new long[64];
+    private int size;
+
+    synchronized void add(long id) {
+        if (size == CAPACITY) {
+            ids[ThreadLocalRandom.current().nextInt(size)] = id;
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * @return a random id, null when the pool is empty
+     */
+    synchronized Long random() {
+        return size == 0 ? null : ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+}
@@ -0,0 +1,171 @@
+package fr.uga.l3miage.library.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-model load generator: {@code concurrency} virtual users send requests built from the Postman collection
+ * and the OpenAPI specification back to back, for a warmup period then a measured period.
+ * <p>
+ * Options, all optional: {@code --base-url}, {@code --collection}, {@code --openapi}, {@code --openapi-prefix},
+ * {@code --concurrency}, {@code --write-ratio}, {@code --warmup} and {@code --duration} (seconds),
+ * {@code --profile} (label of the report) and {@code --output} (JSON report file).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<RequestTemplate> templates = new ScenarioLoader().load(options.collection(), options.openApi(),
+                options.openApiPrefix());
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("no request found in the collection nor the specification");
+        }
+        Report report = new LoadTest(options).run(new Workload(templates, options.writeRatio()));
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (options.output().getParent() != null) {
+            Files.createDirectories(options.output().getParent());
+        }
+        mapper.writeValue(options.output().toFile(), report);
+        System.out.println(mapper.writeValueAsString(report));
+    }
+
+    private final Options options;
+    private final HttpClient client;
+
+    LoadTest(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Report run(Workload workload) throws Exception {
+        HttpResponse<String> authors = client.send(HttpRequest.newBuilder(uri("/api/v1/authors")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        workload.seedAuthors(authors.body());
+
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            List<Future<Recorder>> results = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                results.add(users.submit(() -> user(workload, warmupEnd, end)));
+            }
+            Recorder total = new Recorder(workload.templates().size());
+            for (Future<Recorder> result : results) {
+                total.merge(result.get());
+            }
+            return Report.of(options, workload.templates(), total, options.duration().toNanos() / 1e9);
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private Recorder user(Workload workload, long warmupEnd, long end) throws InterruptedException {
+        Recorder recorder = new Recorder(workload.templates().size());
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            int index = workload.next();
+            RequestTemplate template = workload.templates().get(index);
+            String path = workload.resolve(template.path());
+            String body = workload.resolve(template.body());
+            boolean measured = now >= warmupEnd;
+            if (path == null || template.body() != null && body == null) {
+                if (measured) {
+                    recorder.skip(index);
+                }
+                continue;
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json");
+            if (body == null) {
+                request.method(template.method(), HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json")
+                        .method(template.method(), HttpRequest.BodyPublishers.ofString(body));
+            }
+            int status;
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                if (status < 300) {
+                    workload.capture(template, response.body());
+                }
+            } catch (IOException e) {
+                status = 0;
+            }
+            if (measured) {
+                recorder.record(index, System.nanoTime() - start, status);
+            }
+        }
+        return recorder;
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    record Options(
+            String baseUrl,
+            Path collection,
+            Path openApi,
+            String openApiPrefix,
+            int concurrency,
+            double writeRatio,
+            Duration warmup,
+            Duration duration,
+            String profile,
+            Path output
+    ) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("unexpected argument: " + arg);
+                }
+                int equals = arg.indexOf('=');
+                if (equals > 0) {
+                    values.put(arg.substring(2, equals), arg.substring(equals + 1));
+                } else if (i + 1 < args.length) {
+                    values.put(arg.substring(2), args[++i]);
+                } else {
+                    throw new IllegalArgumentException("missing value for " + arg);
+                }
+            }
+            String profile = values.getOrDefault("profile", "mock");
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    Path.of(values.getOrDefault("collection", "L3 Miage Library API Test.postman_collection.json")),
+                    Path.of(values.getOrDefault("openapi", "library-openapi.yaml")),
+                    values.getOrDefault("openapi-prefix", "/api/v1"),
+                    Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                    Double.parseDouble(values.getOrDefault("write-ratio", "0.2")),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                    profile,
+                    Path.of(values.getOrDefault("output", "load-test/target/report-" + profile + ".json")));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package fr.uga.l3miage.library.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes per template, owned by one worker thread then merged.
+ */
+class Recorder {
+
+    final long[][] latencies;
+    final int[] counts;
+    final long[] serverErrors;
+    final long[] clientErrors;
+    final long[] skipped;
+
+    Recorder(int templates) {
+        latencies = new long[templates][1024];
+        counts = new int[templates];
+        serverErrors = new long[templates];
+        clientErrors = new long[templates];
+        skipped = new long[templates];
+    }
+
+    /**
+     * @param status HTTP status, 0 when the request failed without response
+     */
+    void record(int template, long latencyNanos, int status) {
+        if (counts[template] == latencies[template].length) {
+            latencies[template] = Arrays.copyOf(latencies[template], counts[template] * 2);
+        }
+        latencies[template][counts[template]++] = latencyNanos;
+        if (status == 0 || status >= 500) {
+            serverErrors[template]++;
+        } else if (status >= 400) {
+            clientErrors[template]++;
+        }
+    }
+
+    void skip(int template) {
+        skipped[template]++;
+    }
+
+    void merge(Recorder other) {
+        for (int i = 0; i < counts.length; i++) {
+            long[] merged = Arrays.copyOf(latencies[i], counts[i] + other.counts[i]);
+            System.arraycopy(other.latencies[i], 0, merged, counts[i], other.counts[i]);
+            latencies[i] = merged;
+            counts[i] += other.counts[i];
+            serverErrors[i] += other.serverErrors[i];
+            clientErrors[i] += other.clientErrors[i];
+            skipped[i] += other.skipped[i];
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fr.uga.l3miage.library.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Machine-readable result of a run, written as JSON.
+ *
+ * @param throughput   completed requests per second
+ * @param errorRate    share of requests answered with a 5xx or without response
+ * @param clientErrorRate share of requests answered with a 4xx
+ */
+record Report(
+        String profile,
+        String baseUrl,
+        int concurrency,
+        double writeRatio,
+        double durationSeconds,
+        long requests,
+        double throughput,
+        double errorRate,
+        double clientErrorRate,
+        Latency latency,
+        List<Endpoint> endpoints
+) {
+
+    static Report of(LoadTest.Options options, List<RequestTemplate> templates, Recorder recorder, double durationSeconds) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        long clientErrors = 0;
+        int total = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            total += recorder.counts[i];
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            RequestTemplate template = templates.get(i);
+            int count = recorder.counts[i];
+            long[] latencies = Arrays.copyOf(recorder.latencies[i], count);
+            System.arraycopy(latencies, 0, all, offset, count);
+            offset += count;
+            endpoints.add(new Endpoint(template.name(), template.source(), template.method(), template.path(), count,
+                    recorder.serverErrors[i], recorder.clientErrors[i], recorder.skipped[i], Latency.of(latencies)));
+            requests += count;
+            errors += recorder.serverErrors[i];
+            clientErrors += recorder.clientErrors[i];
+        }
+        return new Report(options.profile(), options.baseUrl(), options.concurrency(), options.writeRatio(),
+                durationSeconds, requests, requests / durationSeconds,
+                requests == 0 ? 0 : (double) errors / requests,
+                requests == 0 ? 0 : (double) clientErrors / requests,
+                Latency.of(all), endpoints);
+    }
+
+    record Endpoint(
+            String name,
+            String source,
+            String method,
+            String path,
+            long requests,
+            long errors,
+            long clientErrors,
+            long skipped,
+            Latency latency
+    ) {
+    }
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    record Latency(double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(long[] nanos) {
+            if (nanos.length == 0) {
+                return new Latency(0, 0, 0, 0, 0);
+            }
+            Arrays.sort(nanos);
+            return new Latency(percentile(nanos, 500), percentile(nanos, 900), percentile(nanos, 990),
+                    percentile(nanos, 999), nanos[nanos.length - 1] / 1e6);
+        }
+
+        // nearest rank: the lowest latency not exceeded by at least this share of the requests
+        private static double percentile(long[] sorted, int perMille) {
+            int rank = (int) (((long) sorted.length * perMille + 999) / 1000);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fr.uga.l3miage.library.loadtest;
+
+/**
+ * A request of the workload, path and body may contain Postman-style {@code {{variables}}}.
+ *
+ * @param name   name of the Postman request or OpenAPI operation id
+ * @param source where the template comes from, "postman" or "openapi"
+ */
+record RequestTemplate(String name, String source, String method, String path, String body) {
+
+    boolean isWrite() {
+        return !"GET".equals(method) && !"HEAD".equals(method);
+    }
+
+    String key() {
+        return method + " " + path.replaceAll("\\{\\{[^}]+}}", "{}");
+    }
+}
@@ -0,0 +1,134 @@
+package fr.uga.l3miage.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the request templates of the workload from the Postman collection and the OpenAPI specification.
+ * <p>
+ * Postman requests come first since their payloads are the ones validated by the functional tests, OpenAPI
+ * operations complete them with the endpoints the collection does not cover. Deletes are left out: they would
+ * consume the entities the other requests work on.
+ */
+class ScenarioLoader {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper yaml = new ObjectMapper(new YAMLFactory());
+
+    List<RequestTemplate> load(Path postmanCollection, Path openApi, String openApiPrefix) throws IOException {
+        Map<String, RequestTemplate> templates = new LinkedHashMap<>();
+        if (postmanCollection != null) {
+            for (RequestTemplate template : fromPostman(json.readTree(postmanCollection.toFile()))) {
+                templates.putIfAbsent(template.key(), template);
+            }
+        }
+        if (openApi != null) {
+            for (RequestTemplate template : fromOpenApi(yaml.readTree(openApi.toFile()), openApiPrefix)) {
+                templates.putIfAbsent(template.key(), template);
+            }
+        }
+        return new ArrayList<>(templates.values());
+    }
+
+    List<RequestTemplate> fromPostman(JsonNode collection) {
+        List<RequestTemplate> templates = new ArrayList<>();
+        collectPostman(collection.path("item"), templates);
+        return templates;
+    }
+
+    private void collectPostman(JsonNode items, List<RequestTemplate> templates) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collectPostman(item.path("item"), templates);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            String method = request.path("method").asText("GET").toUpperCase(Locale.ROOT);
+            JsonNode url = request.path("url");
+            String raw = url.isTextual() ? url.asText() : url.path("raw").asText();
+            String path = raw.replace("{{baseUrl}}", "");
+            String body = request.path("body").path("raw").asText(null);
+            if (!"DELETE".equals(method) && path.startsWith("/")) {
+                templates.add(new RequestTemplate(item.path("name").asText(), "postman", method, path, body));
+            }
+        }
+    }
+
+    List<RequestTemplate> fromOpenApi(JsonNode spec, String prefix) {
+        List<RequestTemplate> templates = new ArrayList<>();
+        JsonNode schemas = spec.path("components").path("schemas");
+        Iterator<Map.Entry<String, JsonNode>> paths = spec.path("paths").fields();
+        while (paths.hasNext()) {
+            Map.Entry<String, JsonNode> entry = paths.next();
+            String path = toTemplatePath(entry.getKey(), prefix);
+            Iterator<Map.Entry<String, JsonNode>> operations = entry.getValue().fields();
+            while (operations.hasNext()) {
+                Map.Entry<String, JsonNode> operation = operations.next();
+                String method = operation.getKey().toUpperCase(Locale.ROOT);
+                if (!List.of("GET", "POST", "PUT", "PATCH").contains(method)) {
+                    continue;
+                }
+                JsonNode schema = operation.getValue().path("requestBody").path("content")
+                        .path("application/json").path("schema");
+                String body = schema.isMissingNode() ? null : example(schema, schemas);
+                String name = operation.getValue().path("operationId").asText(method + " " + path);
+                templates.add(new RequestTemplate(name, "openapi", method, path, body));
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * Rewrites an OpenAPI path to the Postman conventions: {@code /api/authors/{id}/books} with the prefix
+     * {@code /api/v1} becomes {@code /api/v1/authors/{{authorId}}/books}.
+     */
+    static String toTemplatePath(String path, String prefix) {
+        String result = prefix != null && path.startsWith("/api/") ? prefix + path.substring("/api".length()) : path;
+        StringBuilder template = new StringBuilder();
+        String previous = "";
+        for (String segment : result.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/');
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                // path parameters are named after the collection they belong to
+                String entity = previous.endsWith("s") ? previous.substring(0, previous.length() - 1) : previous;
+                template.append("{{").append(entity).append("Id}}");
+            } else {
+                template.append(segment);
+            }
+            previous = segment;
+        }
+        return template.toString();
+    }
+
+    private String example(JsonNode schema, JsonNode schemas) {
+        JsonNode resolved = schema;
+        if (schema.has("$ref")) {
+            String ref = schema.path("$ref").asText();
+            resolved = schemas.path(ref.substring(ref.lastIndexOf('/') + 1));
+        }
+        JsonNode example = resolved.path("example");
+        if (example.isMissingNode()) {
+            for (JsonNode part : resolved.path("allOf")) {
+                String partExample = example(part, schemas);
+                if (partExample != null) {
+                    return partExample;
+                }
+            }
+            return null;
+        }
+        return example.toString();
+    }
+}
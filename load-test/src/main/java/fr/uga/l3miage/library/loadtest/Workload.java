@@ -0,0 +1,114 @@
+package fr.uga.l3miage.library.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the next request according to the read/write mix and fills its variables.
+ */
+class Workload {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(-?\\d+)");
+    private static final String[] FIRST_NAMES = {"Victor", "Ursula", "William", "Mary", "Albert", "Simone", "Isaac"};
+    private static final String[] LAST_NAMES = {"Hugo", "Le Guin", "Gibson", "Shelley", "Camus", "Weil", "Asimov"};
+
+    private final List<RequestTemplate> templates;
+    private final List<Integer> reads;
+    private final List<Integer> writes;
+    private final double writeRatio;
+    final IdPool authorIds = new IdPool();
+    final IdPool bookIds = new IdPool();
+
+    Workload(List<RequestTemplate> templates, double writeRatio) {
+        this.templates = templates;
+        this.writeRatio = writeRatio;
+        this.reads = indexes(templates, false);
+        this.writes = indexes(templates, true);
+    }
+
+    List<RequestTemplate> templates() {
+        return templates;
+    }
+
+    /**
+     * @return index of the next template to run
+     */
+    int next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean write = !writes.isEmpty() && (reads.isEmpty() || random.nextDouble() < writeRatio);
+        List<Integer> candidates = write ? writes : reads;
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * @return the text with its variables replaced, null if an id variable cannot be filled yet
+     */
+    String resolve(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String value = value(matcher.group(1));
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    /**
+     * Records the ids created by a successful POST so that the next requests can use them.
+     */
+    void capture(RequestTemplate template, String responseBody) {
+        if (!"POST".equals(template.method()) || responseBody == null) {
+            return;
+        }
+        Matcher matcher = ID.matcher(responseBody);
+        if (matcher.find()) {
+            long id = Long.parseLong(matcher.group(1));
+            (template.path().endsWith("/books") ? bookIds : authorIds).add(id);
+        }
+    }
+
+    /**
+     * Seeds the author pool from a listing of existing authors.
+     */
+    void seedAuthors(String listing) {
+        Matcher matcher = ID.matcher(listing);
+        while (matcher.find()) {
+            authorIds.add(Long.parseLong(matcher.group(1)));
+        }
+    }
+
+    private String value(String variable) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (variable.equals("$randomFullName")) {
+            return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                    + " " + random.nextInt(1_000_000);
+        }
+        if (variable.startsWith("$")) {
+            return Integer.toString(random.nextInt(1_000_000));
+        }
+        if (variable.toLowerCase(Locale.ROOT).endsWith("id")) {
+            Long id = (variable.toLowerCase(Locale.ROOT).contains("book") ? bookIds : authorIds).random();
+            return id == null ? null : id.toString();
+        }
+        return "";
+    }
+
+    private static List<Integer> indexes(List<RequestTemplate> templates, boolean write) {
+        return IntStream.range(0, templates.size())
+                .filter(i -> templates.get(i).isWrite() == write)
+                .boxed()
+                .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package fr.uga.l3miage.library.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportTest {
+
+    static final long MILLIS = 1_000_000;
+
+    @Test
+    void percentilesAreNearestRanks() {
+        List<Long> latencies = new ArrayList<>();
+        for (long millis = 1; millis <= 1000; millis++) {
+            latencies.add(millis * MILLIS);
+        }
+        Collections.shuffle(latencies, new Random(42));
+
+        Report.Latency latency = Report.Latency.of(latencies.stream().mapToLong(Long::longValue).toArray());
+
+        assertEquals(new Report.Latency(500, 900, 990, 999, 1000), latency);
+        assertEquals(new Report.Latency(7, 7, 7, 7, 7), Report.Latency.of(new long[]{7 * MILLIS}));
+        assertEquals(new Report.Latency(0, 0, 0, 0, 0), Report.Latency.of(new long[0]));
+    }
+
+    @Test
+    void mergedRecordersAddUpPerTemplate() {
+        List<RequestTemplate> templates = List.of(
+                new RequestTemplate("Get all authors", "postman", "GET", "/api/v1/authors", null),
+                new RequestTemplate("Create an author", "postman", "POST", "/api/v1/authors", "{}"));
+        Recorder first = new Recorder(templates.size());
+        Recorder second = new Recorder(templates.size());
+        // more than the initial capacity of a recorder, from both workers
+        for (long millis = 1; millis <= 1000; millis++) {
+            first.record(0, millis * MILLIS, 200);
+            second.record(0, (1000 + millis) * MILLIS, 200);
+        }
+        first.record(1, 10 * MILLIS, 201);
+        first.record(1, 20 * MILLIS, 400);
+        second.record(1, 30 * MILLIS, 500);
+        second.record(1, 40 * MILLIS, 0);
+        second.skip(1);
+
+        first.merge(second);
+        Report report = Report.of(options(), templates, first, 10);
+
+        assertEquals(2004, report.requests());
+        assertEquals(200.4, report.throughput(), 1e-9);
+        assertEquals(2 / 2004.0, report.errorRate(), 1e-12);
+        assertEquals(1 / 2004.0, report.clientErrorRate(), 1e-12);
+        Report.Endpoint reads = report.endpoints().get(0);
+        assertEquals(2000, reads.requests());
+        assertEquals(new Report.Latency(1000, 1800, 1980, 1998, 2000), reads.latency());
+        Report.Endpoint writes = report.endpoints().get(1);
+        assertEquals(4, writes.requests());
+        assertEquals(2, writes.errors());
+        assertEquals(1, writes.clientErrors());
+        assertEquals(1, writes.skipped());
+        assertEquals(new Report.Latency(20, 40, 40, 40, 40), writes.latency());
+        // the 1002nd of 2004: the four writes are among the 1004 lowest latencies
+        assertEquals(998, report.latency().p50());
+    }
+
+    static LoadTest.Options options() {
+        return new LoadTest.Options("http://localhost:8080", null, null, "/api/v1", 2, 0.5, Duration.ZERO,
+                Duration.ofSeconds(10), "mock", Path.of("report.json"));
+    }
+}
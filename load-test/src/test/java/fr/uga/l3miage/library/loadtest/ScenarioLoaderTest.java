@@ -0,0 +1,95 @@
+package fr.uga.l3miage.library.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScenarioLoaderTest {
+
+    // tests run from the module directory, the collection and the specification are at the root of the project
+    static final Path COLLECTION = Path.of("..", "L3 Miage Library API Test.postman_collection.json");
+    static final Path OPEN_API = Path.of("..", "library-openapi.yaml");
+
+    ScenarioLoader loader = new ScenarioLoader();
+
+    @Test
+    void postmanRequestsAreFlattenedWithoutTheBaseUrlNorTheDeletes() throws Exception {
+        List<RequestTemplate> templates = loader.fromPostman(new ObjectMapper().readTree(COLLECTION.toFile()));
+
+        assertFalse(templates.isEmpty());
+        for (RequestTemplate template : templates) {
+            assertEquals("postman", template.source());
+            assertTrue(template.path().startsWith("/api/v1/"), template.path());
+            assertFalse(template.path().contains("baseUrl"), template.path());
+            assertFalse("DELETE".equals(template.method()), template.name());
+        }
+        RequestTemplate create = byName(templates).get("Create a random author");
+        assertEquals("POST", create.method());
+        assertEquals("/api/v1/authors", create.path());
+        assertTrue(create.body().contains("{{$randomFullName}}"), create.body());
+        RequestTemplate get = byName(templates).get("Get an author");
+        assertEquals("/api/v1/authors/{{authorId}}", get.path());
+        assertNull(get.body());
+    }
+
+    @Test
+    void openApiOperationsFollowThePostmanConventions() throws Exception {
+        List<RequestTemplate> templates = loader.fromOpenApi(new ObjectMapper(new YAMLFactory()).readTree(OPEN_API.toFile()),
+                "/api/v1");
+
+        Map<String, RequestTemplate> byName = byName(templates);
+        assertEquals("GET", byName.get("find-authors-books").method());
+        assertEquals("/api/v1/authors/{{authorId}}/books", byName.get("find-authors-books").path());
+        assertEquals("/api/v1/books/{{bookId}}", byName.get("update-book").path());
+        // bodies are the examples of the schemas, found through $ref and allOf
+        assertTrue(byName.get("new-authors-book").body().contains("\"isbn\":9782266199261"),
+                byName.get("new-authors-book").body());
+        assertTrue(byName.get("new-author").body().contains("Victor Hugo"), byName.get("new-author").body());
+        assertNull(byName.get("find-authors").body());
+        assertFalse(byName.containsKey("delete-author"));
+        assertFalse(byName.containsKey("delete-book"));
+    }
+
+    @Test
+    void openApiOnlyAddsWhatTheCollectionDoesNotCover() throws Exception {
+        List<RequestTemplate> postman = loader.fromPostman(new ObjectMapper().readTree(COLLECTION.toFile()));
+        List<RequestTemplate> openApi = loader.fromOpenApi(new ObjectMapper(new YAMLFactory()).readTree(OPEN_API.toFile()),
+                "/api/v1");
+
+        List<RequestTemplate> templates = loader.load(COLLECTION, OPEN_API, "/api/v1");
+
+        Map<String, RequestTemplate> byKey = templates.stream()
+                .collect(Collectors.toMap(RequestTemplate::key, Function.identity()));
+        assertEquals(templates.size(), byKey.size());
+        assertEquals(postman.get(0), templates.get(0));
+        for (RequestTemplate template : postman) {
+            assertEquals("postman", byKey.get(template.key()).source(), template.key());
+        }
+        for (RequestTemplate template : openApi) {
+            assertTrue(byKey.containsKey(template.key()), template.key());
+        }
+    }
+
+    @Test
+    void openApiPathsAreRewrittenToTheTemplateSyntax() {
+        assertEquals("/api/v1/authors/{{authorId}}/books", ScenarioLoader.toTemplatePath("/api/authors/{id}/books", "/api/v1"));
+        assertEquals("/api/v1/books/{{bookId}}/authors", ScenarioLoader.toTemplatePath("/api/books/{id}/authors", "/api/v1"));
+        assertEquals("/api/authors/{{authorId}}", ScenarioLoader.toTemplatePath("/api/authors/{id}", null));
+        assertEquals("/health", ScenarioLoader.toTemplatePath("/health", "/api/v1"));
+    }
+
+    static Map<String, RequestTemplate> byName(List<RequestTemplate> templates) {
+        return templates.stream().collect(Collectors.toMap(RequestTemplate::name, Function.identity(), (a, b) -> a));
+    }
+}
@@ -0,0 +1,49 @@
+package fr.uga.l3miage.library.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadTest {
+
+    RequestTemplate newAuthor = new RequestTemplate("Create an author", "postman", "POST", "/api/v1/authors",
+            "{\"fullName\": \"{{$randomFullName}}\"}");
+    RequestTemplate newBook = new RequestTemplate("Create a book", "postman", "POST", "/api/v1/authors/{{authorId}}/books",
+            "{\"title\": \"Peripheral\"}");
+    Workload workload = new Workload(List.of(newAuthor, newBook), 0.5);
+
+    @Test
+    void idVariablesWaitForAnId() {
+        assertNull(workload.resolve("/api/v1/authors/{{authorId}}"));
+
+        workload.seedAuthors("[{\"id\": 7, \"fullName\": \"Victor Hugo\"}]");
+
+        assertEquals("/api/v1/authors/7/books", workload.resolve(newBook.path()));
+        assertNull(workload.resolve("/api/v1/books/{{bookId}}"));
+    }
+
+    @Test
+    void createdIdsAreCapturedPerEntity() {
+        workload.capture(newAuthor, "{\"id\": 3, \"fullName\": \"Ursula Le Guin\"}");
+        workload.capture(newBook, "{\"id\": 42, \"title\": \"Peripheral\"}");
+
+        assertEquals("/api/v1/authors/3", workload.resolve("/api/v1/authors/{{authorId}}"));
+        assertEquals("/api/v1/books/42", workload.resolve("/api/v1/books/{{newBookId}}"));
+    }
+
+    @Test
+    void dynamicVariablesAreGeneratedAndOthersEmptied() {
+        String body = workload.resolve(newAuthor.body());
+
+        assertFalse(body.contains("{{"), body);
+        assertTrue(body.matches("\\{\"fullName\": \"[A-Za-z ]+ \\d+\"}"), body);
+        assertEquals("[]", workload.resolve("[{{newAuthorName}}]"));
+        assertEquals("no variable", workload.resolve("no variable"));
+        assertNull(workload.resolve(null));
+    }
+}
@@ -0,0 +1,44 @@
+#!/bin/sh
+# Builds an AppCDS archive for a Spring Boot jar.
+#
+# usage: build-cds.sh <app.jar> <output dir>
+#
+# The jar is exploded in <output dir> (CDS cannot archive classes loaded from nested jars), then a training run
+# starts the AOT processed context, serves a few requests and stops, dumping the loaded classes in app.jsa.
+# Run the result from <output dir> with:
+#   java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -cp "$(cat classpath)" "$(cat main-class)"
+set -e
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+OUT=$2
+PORT=${CDS_TRAINING_PORT:-18080}
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+cd "$OUT"
+jar xf "$JAR"
+
+ls BOOT-INF/lib/*.jar | sort | tr '\n' ':' | sed 's/^/BOOT-INF\/classes:/; s/:$//' > classpath
+sed -n 's/^Start-Class: *//p' META-INF/MANIFEST.MF | tr -d '\r' > main-class
+
+java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true -Dserver.port="$PORT" \
+    -cp "$(cat classpath)" "$(cat main-class)" > training.log 2>&1 &
+PID=$!
+
+i=0
+until curl -sf "http://localhost:$PORT/api/v1/authors" > /dev/null; do
+    i=$((i + 1))
+    if [ $i -gt 600 ] || ! kill -0 $PID 2> /dev/null; then
+        echo "training run did not start, see $OUT/training.log" >&2
+        kill $PID 2> /dev/null || true
+        exit 1
+    fi
+    sleep 0.1
+done
+curl -sf "http://localhost:$PORT/api/v1/authors?q=a" > /dev/null || true
+curl -s "http://localhost:$PORT/api/v1/authors/-1" > /dev/null || true
+
+kill -TERM $PID
+wait $PID || true
+test -f app.jsa
+echo "CDS archive written to $OUT/app.jsa"
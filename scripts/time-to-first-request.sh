@@ -0,0 +1,45 @@
+#!/bin/sh
+# Measures the time between process start and the first successful GET /api/v1/authors.
+#
+# usage: time-to-first-request.sh <jvm|aot|cds|native> [runs]
+#
+# Expects the artifacts of "mvn -Pmock,fast-startup package" (jvm, aot, cds) or of
+# "mvn -Pmock,native native:compile" (native) in app/target. Prints one JSON line per run.
+set -e
+
+VARIANT=$1
+RUNS=${2:-5}
+PORT=${PORT:-18081}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+TARGET=$ROOT/app/target
+JAR=$(ls "$TARGET"/app-*-exec.jar | head -n 1)
+
+start() {
+    case $VARIANT in
+        jvm) exec java -Dserver.port="$PORT" -jar "$JAR" ;;
+        aot) exec java -Dspring.aot.enabled=true -Dserver.port="$PORT" -jar "$JAR" ;;
+        cds) cd "$TARGET/cds" && exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dserver.port="$PORT" \
+                 -cp "$(cat classpath)" "$(cat main-class)" ;;
+        native) exec "$TARGET/app" -Dserver.port="$PORT" ;;
+        *) echo "unknown variant: $VARIANT" >&2; exit 2 ;;
+    esac
+}
+
+run=1
+while [ $run -le "$RUNS" ]; do
+    begin=$(date +%s%N)
+    start > /dev/null 2>&1 &
+    PID=$!
+    until curl -sf "http://localhost:$PORT/api/v1/authors" > /dev/null; do
+        if ! kill -0 $PID 2> /dev/null; then
+            echo "$VARIANT did not start" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+    kill -TERM $PID
+    wait $PID || true
+    echo "{\"variant\":\"$VARIANT\",\"run\":$run,\"timeToFirstRequestMs\":$(((end - begin) / 1000000))}"
+    run=$((run + 1))
+done
@@ -0,0 +1,19 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+/**
+ * Connection pool a statement is sent to.
+ */
+public enum DataSourceRoute {
+    /**
+     * Read-write database, used by every transaction that is not read-only.
+     */
+    PRIMARY,
+    /**
+     * Asynchronous copy of the primary, used by read-only transactions while it is close enough to the primary.
+     */
+    REPLICA;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
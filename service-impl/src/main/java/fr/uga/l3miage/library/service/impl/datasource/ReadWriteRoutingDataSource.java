@@ -0,0 +1,103 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary pool.
+ * <p>
+ * The route is chosen when a connection is obtained, so this data source must be used through {@link #lazyProxy()}:
+ * the transaction managers obtain their connection before the read-only flag of the transaction is published.
+ * Read-only transactions fall back to the primary while the {@link ReplicaLagMonitor} reports the replica as too
+ * far behind or unreachable.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<DataSourceRoute, HikariDataSource> pools = new EnumMap<>(DataSourceRoute.class);
+    private final ReplicaLagMonitor monitor;
+    private final Map<DataSourceRoute, LongAdder> routed = new EnumMap<>(DataSourceRoute.class);
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+        pools.put(DataSourceRoute.PRIMARY, primary);
+        pools.put(DataSourceRoute.REPLICA, replica);
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            routed.put(route, new LongAdder());
+        }
+        setTargetDataSources(new HashMap<Object, Object>(pools));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected DataSourceRoute determineCurrentLookupKey() {
+        DataSourceRoute route = DataSourceRoute.PRIMARY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (monitor.isReplicaUsable()) {
+                route = DataSourceRoute.REPLICA;
+            } else {
+                fallbacks.increment();
+            }
+        }
+        routed.get(route).increment();
+        return route;
+    }
+
+    /**
+     * @return this data source behind a proxy that only obtains a connection with the first statement
+     */
+    public LazyConnectionDataSourceProxy lazyProxy() {
+        // without both defaults known the proxy fetches a connection through the router to read them when
+        // initialized, so they are set before the target
+        HikariDataSource primary = pools.get(DataSourceRoute.PRIMARY);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setDefaultAutoCommit(primary.isAutoCommit());
+        if (primary.getTransactionIsolation() != null) {
+            proxy.setDefaultTransactionIsolationName(primary.getTransactionIsolation());
+        } else {
+            // the default of PostgreSQL and H2
+            proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        }
+        proxy.setTargetDataSource(this);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    HikariDataSource pool(DataSourceRoute route) {
+        return pools.get(route);
+    }
+
+    ReplicaLagMonitor monitor() {
+        return monitor;
+    }
+
+    /**
+     * @return number of connections handed out through the given route
+     */
+    long routedConnections(DataSourceRoute route) {
+        return routed.get(route).sum();
+    }
+
+    /**
+     * @return number of read-only connections sent to the primary because the replica was unusable
+     */
+    long replicaFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void close() {
+        monitor.close();
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
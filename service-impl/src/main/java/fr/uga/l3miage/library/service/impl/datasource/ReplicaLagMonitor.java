@@ -0,0 +1,128 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how far the replica is behind the primary with a heartbeat row: the primary timestamp is written on each
+ * probe and read back from the replica once replicated, the lag is the age of the timestamp seen on the replica.
+ * <p>
+ * The replica is usable while that lag stays under {@code maxLag}; a replica that cannot be read counts as
+ * unusable until the next successful probe.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    static final String TABLE = "replication_heartbeat";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration interval;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean heartbeatTableCreated;
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration interval, Clock clock) {
+        if (maxLag.compareTo(interval) <= 0) {
+            throw new IllegalArgumentException("maxLag must be longer than the probe interval");
+        }
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.interval = interval;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts probing the replica in the background, the replica is unusable until the first probe.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Writes a heartbeat on the primary then reads the replicated one, updating the replica state.
+     */
+    void probe() {
+        try {
+            beat();
+        } catch (SQLException e) {
+            // the replica can still be measured against the last heartbeat that made it through
+        }
+        try {
+            Long beat = replicatedBeat();
+            lagMillis = beat == null ? -1 : Math.max(0, clock.millis() - beat);
+        } catch (SQLException e) {
+            lagMillis = -1;
+        }
+        replicaUsable = lagMillis >= 0 && lagMillis <= maxLag.toMillis();
+    }
+
+    /**
+     * @return true when read-only transactions may be sent to the replica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return the last measured lag, {@code null} when the replica could not be measured
+     */
+    public Duration lag() {
+        long lag = lagMillis;
+        return lag < 0 ? null : Duration.ofMillis(lag);
+    }
+
+    private void beat() throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            if (!heartbeatTableCreated) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("create table if not exists " + TABLE + " (id int primary key, beat bigint not null)");
+                }
+                heartbeatTableCreated = true;
+            }
+            long now = clock.millis();
+            try (PreparedStatement update = connection.prepareStatement("update " + TABLE + " set beat = ? where id = 1")) {
+                update.setLong(1, now);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement("insert into " + TABLE + " (id, beat) values (1, ?)")) {
+                        insert.setLong(1, now);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    private Long replicatedBeat() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement select = connection.prepareStatement("select beat from " + TABLE + " where id = 1");
+             ResultSet result = select.executeQuery()) {
+            return result.next() ? result.getLong(1) : null;
+        }
+    }
+}
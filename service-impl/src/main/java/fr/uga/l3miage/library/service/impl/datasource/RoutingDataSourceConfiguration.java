@@ -0,0 +1,59 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read/write splitting between a primary and a replica database.
+ * <p>
+ * Enabled when both {@code library.datasource.primary.jdbc-url} and {@code library.datasource.replica.jdbc-url}
+ * are set; every other Hikari setting can be given under the same prefixes ({@code username},
+ * {@code maximum-pool-size}...). Service methods that only read are annotated with
+ * {@code @Transactional(readOnly = true)} to be served by the replica.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "library.datasource", name = {"primary.jdbc-url", "replica.jdbc-url"})
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(Environment environment,
+                                                                 @Value("${library.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                                 @Value("${library.datasource.replica.lag-probe-interval:1s}") Duration probeInterval) {
+        HikariDataSource primary = pool(environment, DataSourceRoute.PRIMARY);
+        HikariDataSource replica = pool(environment, DataSourceRoute.REPLICA);
+        replica.setReadOnly(true);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, maxLag, probeInterval, Clock.systemUTC());
+        monitor.start();
+        return new ReadWriteRoutingDataSource(primary, replica, monitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return readWriteRoutingDataSource.lazyProxy();
+    }
+
+    @Bean
+    public RoutingDataSourceMetrics routingDataSourceMetrics(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new RoutingDataSourceMetrics(readWriteRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(Environment environment, DataSourceRoute route) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(route.tag());
+        return Binder.get(environment)
+                .bind("library.datasource." + route.tag(), Bindable.ofInstance(pool))
+                .orElse(pool);
+    }
+}
@@ -0,0 +1,73 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pool utilization and routing decisions, tagged with the {@code route} they apply to.
+ */
+public class RoutingDataSourceMetrics implements MeterBinder {
+
+    private final ReadWriteRoutingDataSource dataSource;
+
+    public RoutingDataSourceMetrics(ReadWriteRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            HikariDataSource pool = dataSource.pool(route);
+            poolGauge(registry, "library.datasource.connections.active", route, pool, HikariPoolMXBean::getActiveConnections);
+            poolGauge(registry, "library.datasource.connections.idle", route, pool, HikariPoolMXBean::getIdleConnections);
+            poolGauge(registry, "library.datasource.connections.pending", route, pool, HikariPoolMXBean::getThreadsAwaitingConnection);
+            Gauge.builder("library.datasource.connections.max", pool, HikariDataSource::getMaximumPoolSize)
+                    .tag("route", route.tag())
+                    .register(registry);
+            Gauge.builder("library.datasource.connections.utilization", pool, RoutingDataSourceMetrics::utilization)
+                    .description("Share of the pool connections currently in use")
+                    .tag("route", route.tag())
+                    .register(registry);
+            FunctionCounter.builder("library.datasource.connections.routed", dataSource, ds -> ds.routedConnections(route))
+                    .description("Connections handed out through this route")
+                    .tag("route", route.tag())
+                    .register(registry);
+        }
+        FunctionCounter.builder("library.datasource.replica.fallbacks", dataSource, ReadWriteRoutingDataSource::replicaFallbacks)
+                .description("Read-only connections sent to the primary because the replica was lagging or unreachable")
+                .register(registry);
+        TimeGauge.builder("library.datasource.replica.lag", dataSource.monitor(), TimeUnit.MILLISECONDS, RoutingDataSourceMetrics::lagMillis)
+                .description("Age of the last heartbeat replicated from the primary, NaN when unknown")
+                .register(registry);
+    }
+
+    private static void poolGauge(MeterRegistry registry, String name, DataSourceRoute route, HikariDataSource pool,
+                                  ToDoubleFunction<HikariPoolMXBean> value) {
+        Gauge.builder(name, pool, p -> {
+                    HikariPoolMXBean bean = p.getHikariPoolMXBean();
+                    // the pool is only started with its first connection
+                    return bean == null ? 0 : value.applyAsDouble(bean);
+                })
+                .tag("route", route.tag())
+                .register(registry);
+    }
+
+    private static double utilization(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        return bean == null ? 0 : (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    private static double lagMillis(ReplicaLagMonitor monitor) {
+        Duration lag = monitor.lag();
+        return lag == null ? Double.NaN : lag.toMillis();
+    }
+}
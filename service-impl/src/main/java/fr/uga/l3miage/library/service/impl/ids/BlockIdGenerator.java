@@ -0,0 +1,146 @@
+package fr.uga.l3miage.library.service.impl.ids;
+
+import fr.uga.l3miage.library.service.IdGenerator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids reserved from the database by blocks, so that instances sharing the database never hand out the same id
+ * while only one statement in {@code blockSize} ids reaches the database.
+ * <p>
+ * Each entity type has a row holding the first id of the next block, moved forward by {@code blockSize} in its own
+ * transaction: the row lock orders the instances. Ids are then taken from the block with a plain increment, only
+ * the thread that finds the block exhausted reserves the next one. Ids left in a block when the instance stops are
+ * never used.
+ */
+public class BlockIdGenerator implements IdGenerator {
+
+    static final String TABLE = "id_blocks";
+    private static final int ATTEMPTS = 3;
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private final Map<Class<?>, Namespace> namespaces = new ConcurrentHashMap<>();
+
+    private volatile boolean tableCreated;
+
+    public BlockIdGenerator(DataSource dataSource, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.dataSource = dataSource;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId(Class<?> entity) {
+        Namespace namespace = namespaces.get(entity);
+        if (namespace == null) {
+            namespace = namespaces.computeIfAbsent(entity, type -> new Namespace(type.getName()));
+        }
+        while (true) {
+            Block block = namespace.block;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            synchronized (namespace) {
+                if (namespace.block == block) {
+                    namespace.block = reserve(namespace.name);
+                }
+            }
+        }
+    }
+
+    private Block reserve(String name) {
+        SQLException failure = null;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                createTable(connection);
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    Block block = reserve(connection, name);
+                    connection.commit();
+                    return block;
+                } catch (SQLException e) {
+                    // most likely the first row of the type inserted by another instance at the same time
+                    connection.rollback();
+                    failure = e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        throw new IllegalStateException("cannot reserve ids for " + name, failure);
+    }
+
+    private Block reserve(Connection connection, String name) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("update " + TABLE + " set next_id = next_id + ? where name = ?")) {
+            update.setLong(1, blockSize);
+            update.setString(2, name);
+            if (update.executeUpdate() == 0) {
+                try (PreparedStatement insert = connection.prepareStatement("insert into " + TABLE + " (name, next_id) values (?, ?)")) {
+                    insert.setString(1, name);
+                    insert.setLong(2, 1L + blockSize);
+                    insert.executeUpdate();
+                }
+                return new Block(1, 1L + blockSize);
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement("select next_id from " + TABLE + " where name = ?")) {
+            select.setString(1, name);
+            try (ResultSet result = select.executeQuery()) {
+                result.next();
+                long end = result.getLong(1);
+                return new Block(end - blockSize, end);
+            }
+        }
+    }
+
+    private void createTable(Connection connection) throws SQLException {
+        if (!tableCreated) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists " + TABLE + " (name varchar(255) primary key, next_id bigint not null)");
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            tableCreated = true;
+        }
+    }
+
+    private static final class Namespace {
+
+        final String name;
+        volatile Block block = new Block(0, 0);
+
+        Namespace(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Ids from {@code next} (included) to {@code end} (excluded), {@code next} goes past the end once exhausted.
+     */
+    private static final class Block {
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+    }
+}
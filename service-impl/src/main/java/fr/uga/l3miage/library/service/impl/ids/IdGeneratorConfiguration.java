@@ -0,0 +1,20 @@
+package fr.uga.l3miage.library.service.impl.ids;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Ids of the entities reserved by blocks of {@code library.ids.block-size} from the database, on the primary when
+ * reads and writes are split.
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public BlockIdGenerator idGenerator(DataSource dataSource, @Value("${library.ids.block-size:100}") int blockSize) {
+        return new BlockIdGenerator(dataSource, blockSize);
+    }
+}
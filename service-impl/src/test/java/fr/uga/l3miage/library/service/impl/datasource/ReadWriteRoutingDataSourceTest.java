@@ -0,0 +1,179 @@
+package fr.uga.l3miage.library.service.impl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica, each one holds a row naming it. Replication
+ * is simulated by copying the heartbeat from the primary to the replica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private String primaryUrl;
+    private String replicaUrl;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate reads;
+    private TransactionTemplate writes;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryUrl = database("primary");
+        replicaUrl = database("replica");
+        execute(replicaUrl, "create table " + ReplicaLagMonitor.TABLE + " (id int primary key, beat bigint not null)");
+        HikariDataSource replica = pool(replicaUrl, "replica");
+        replica.setReadOnly(true);
+        HikariDataSource primary = pool(primaryUrl, "primary");
+        routing = new ReadWriteRoutingDataSource(primary, replica,
+                new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), Duration.ofSeconds(1), Clock.systemUTC()));
+
+        DataSource dataSource = routing.lazyProxy();
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+        writes = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void creatingTheProxyObtainsNoConnection() {
+        assertThat(routing.routedConnections(DataSourceRoute.PRIMARY)).isZero();
+        assertThat(routing.routedConnections(DataSourceRoute.REPLICA)).isZero();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAnUpToDateReplica() throws SQLException {
+        routing.monitor().probe();
+        replicate();
+        routing.monitor().probe();
+
+        assertThat(routing.monitor().isReplicaUsable()).isTrue();
+        assertThat(reads.execute(status -> origin())).isEqualTo("replica");
+        assertThat(writes.execute(status -> origin())).isEqualTo("primary");
+        assertThat(origin()).isEqualTo("primary");
+        assertThat(routing.routedConnections(DataSourceRoute.REPLICA)).isEqualTo(1);
+        assertThat(routing.replicaFallbacks()).isZero();
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhenTheReplicaLags() throws SQLException {
+        routing.monitor().probe();
+        execute(replicaUrl, "insert into " + ReplicaLagMonitor.TABLE + " values (1, "
+                + (System.currentTimeMillis() - Duration.ofMinutes(1).toMillis()) + ")");
+        routing.monitor().probe();
+
+        assertThat(routing.monitor().isReplicaUsable()).isFalse();
+        assertThat(routing.monitor().lag()).isGreaterThanOrEqualTo(Duration.ofMinutes(1));
+        assertThat(reads.execute(status -> origin())).isEqualTo("primary");
+        assertThat(routing.replicaFallbacks()).isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhenTheReplicaCannotBeMeasured() throws SQLException {
+        execute(replicaUrl, "drop table " + ReplicaLagMonitor.TABLE);
+        routing.monitor().probe();
+
+        assertThat(routing.monitor().isReplicaUsable()).isFalse();
+        assertThat(routing.monitor().lag()).isNull();
+        assertThat(reads.execute(status -> origin())).isEqualTo("primary");
+    }
+
+    @Test
+    void poolMetricsAreTaggedByRoute() throws SQLException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new RoutingDataSourceMetrics(routing).bindTo(registry);
+        routing.monitor().probe();
+        replicate();
+        routing.monitor().probe();
+
+        reads.execute(status -> origin());
+        writes.execute(status -> origin());
+        writes.execute(status -> origin());
+
+        assertThat(registry.get("library.datasource.connections.routed").tag("route", "replica").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("library.datasource.connections.routed").tag("route", "primary").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("library.datasource.connections.max").tag("route", "replica").gauge().value())
+                .isEqualTo(4);
+        assertThat(registry.get("library.datasource.connections.utilization").tag("route", "primary").gauge().value())
+                .isZero();
+        assertThat(registry.get("library.datasource.replica.lag").timeGauge().value()).isNotNaN();
+    }
+
+    @Test
+    void configurationIsEnabledByTheTwoUrls() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory()
+                        .setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withUserConfiguration(RoutingDataSourceConfiguration.class);
+        runner.run(context -> assertThat(context).doesNotHaveBean(DataSource.class));
+        runner.withPropertyValues("library.datasource.primary.jdbc-url=" + primaryUrl,
+                        "library.datasource.replica.jdbc-url=" + replicaUrl,
+                        "library.datasource.replica.maximum-pool-size=2")
+                .run(context -> {
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    ReadWriteRoutingDataSource dataSource = context.getBean(ReadWriteRoutingDataSource.class);
+                    assertThat(dataSource.pool(DataSourceRoute.REPLICA).getMaximumPoolSize()).isEqualTo(2);
+                    assertThat(dataSource.pool(DataSourceRoute.REPLICA).isReadOnly()).isTrue();
+                    assertThat(dataSource.pool(DataSourceRoute.PRIMARY).getPoolName()).isEqualTo("primary");
+                });
+    }
+
+    private String origin() {
+        return jdbc.queryForObject("select name from origin", String.class);
+    }
+
+    private void replicate() throws SQLException {
+        Long beat = new JdbcTemplate(routing.pool(DataSourceRoute.PRIMARY))
+                .queryForObject("select beat from " + ReplicaLagMonitor.TABLE + " where id = 1", Long.class);
+        execute(replicaUrl, "merge into " + ReplicaLagMonitor.TABLE + " key (id) values (1, " + beat + ")");
+    }
+
+    private static String database(String name) throws SQLException {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        execute(url, "create table origin (name varchar(16))");
+        execute(url, "insert into origin values ('" + name + "')");
+        return url;
+    }
+
+    private static HikariDataSource pool(String url, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(4);
+        return pool;
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package fr.uga.l3miage.library.service.impl.ids;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two pools on the same in-memory H2 database stand in for two instances of the application.
+ */
+class BlockIdGeneratorTest {
+
+    static final int THREADS = 8;
+    static final int IDS_PER_THREAD = 5_000;
+
+    private final String url = "jdbc:h2:mem:ids-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void noCollisionAcrossThreadsAndInstances() throws Exception {
+        List<BlockIdGenerator> instances = List.of(new BlockIdGenerator(pool("first"), 50),
+                new BlockIdGenerator(pool("second"), 50));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                BlockIdGenerator generator = instances.get(thread % instances.size());
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId(Book.class);
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                for (long id : future.get()) {
+                    assertThat(ids.add(id)).as("id %d handed out twice", id).isTrue();
+                }
+            }
+            assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+            // only the ids of the blocks in use by each instance are left over
+            assertThat(ids.stream().mapToLong(Long::longValue).max().orElseThrow())
+                    .isLessThanOrEqualTo(THREADS * IDS_PER_THREAD + 2 * 50L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void entityTypesCountOnTheirOwn() {
+        BlockIdGenerator generator = new BlockIdGenerator(pool("single"), 10);
+        assertThat(generator.nextId(Book.class)).isEqualTo(1);
+        assertThat(generator.nextId(Author.class)).isEqualTo(1);
+        for (int i = 2; i <= 25; i++) {
+            assertThat(generator.nextId(Book.class)).isEqualTo(i);
+        }
+        // a new instance starts after the blocks reserved by the first one
+        assertThat(new BlockIdGenerator(pool("restarted"), 10).nextId(Book.class)).isEqualTo(31);
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(4);
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,147 @@
+package fr.uga.l3miage.library.service.mock;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant index of author names: the words of the names are kept in a {@link BkTree} along with the authors
+ * using them, a query word matches the indexed words within a few edits depending on its length.
+ */
+public class AuthorNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> authorsByWord = new HashMap<>();
+    private final Map<Long, List<String>> wordsByAuthor = new HashMap<>();
+    private BkTree words = new BkTree();
+
+    /**
+     * Indexes the name of an author, replacing its previous name if any.
+     */
+    public void put(Long id, String fullName) {
+        lock.writeLock().lock();
+        try {
+            doRemove(id);
+            List<String> nameWords = words(fullName);
+            wordsByAuthor.put(id, nameWords);
+            for (String word : nameWords) {
+                authorsByWord.computeIfAbsent(word, w -> {
+                    words.add(w);
+                    return new HashSet<>();
+                }).add(id);
+            }
+            // a rename leaves the previous words behind like a removal
+            compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            doRemove(id);
+            compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Every word of the query has to match a word of the name, within 0 edits for words of up to 2 characters,
+     * 1 edit up to 5 characters and 2 edits beyond.
+     *
+     * @return ids of the matching authors, by increasing total number of edits
+     */
+    public List<Long> search(String name) {
+        List<String> queryWords = words(name);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> edits = null;
+        lock.readLock().lock();
+        try {
+            for (String queryWord : queryWords) {
+                Map<Long, Integer> matches = new HashMap<>();
+                words.search(queryWord, maxEdits(queryWord), (word, distance) -> {
+                    for (Long id : authorsByWord.getOrDefault(word, Set.of())) {
+                        matches.merge(id, distance, Math::min);
+                    }
+                });
+                if (edits == null) {
+                    edits = matches;
+                } else {
+                    Map<Long, Integer> previous = edits;
+                    matches.keySet().retainAll(previous.keySet());
+                    matches.replaceAll((id, distance) -> distance + previous.get(id));
+                    edits = matches;
+                }
+                if (edits.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(edits.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    static int maxEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2;
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(stripped.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    int treeSize() {
+        lock.readLock().lock();
+        try {
+            return words.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // words no longer used stay in the tree until they outnumber the used ones
+    private void compact() {
+        if (words.size() > 2 * authorsByWord.size() + 64) {
+            words = new BkTree();
+            authorsByWord.keySet().forEach(words::add);
+        }
+    }
+
+    private void doRemove(Long id) {
+        List<String> previous = wordsByAuthor.remove(id);
+        if (previous != null) {
+            for (String word : previous) {
+                Set<Long> ids = authorsByWord.get(word);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    authorsByWord.remove(word);
+                }
+            }
+        }
+    }
+}
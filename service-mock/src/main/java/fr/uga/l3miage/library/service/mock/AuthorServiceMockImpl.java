@@ -3,8 +3,11 @@ package fr.uga.l3miage.library.service.mock;
 import fr.uga.l3miage.data.domain.Author;
 import fr.uga.l3miage.data.domain.Book;
 import fr.uga.l3miage.library.service.AuthorService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
 import fr.uga.l3miage.library.service.DeleteAuthorException;
 import fr.uga.l3miage.library.service.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -15,27 +18,58 @@ import java.util.Set;
 @Component
 public class AuthorServiceMockImpl implements AuthorService {
 
+    private final ApplicationEventPublisher events;
+
+    public AuthorServiceMockImpl() {
+        this(event -> {
+        });
+    }
+
+    @Autowired
+    public AuthorServiceMockImpl(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
     @Override
     public Collection<Author> searchByName(String name) {
-        return MockData.authors.values()
-                .stream()
-                .filter(author -> author.getFullName().toLowerCase().contains(name.toLowerCase()))
+        String lowerCaseName = name.toLowerCase();
+        return MockData.authors.filter(author -> author.getFullName().toLowerCase().contains(lowerCaseName));
+    }
+
+    @Override
+    public Collection<Author> searchByNameFuzzy(String name) {
+        return MockData.authorNames.search(name).stream()
+                .map(MockData.authors::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
 
     @Override
     public Author save(Author author) {
-        author.setId(MockData.getNextId(Author.class));
+        author.setId(MockData.ids.nextId(Author.class));
         doUpdate(author);
+        events.publishEvent(CatalogueEvent.author(CatalogueEvent.Action.SAVED, author.getId()));
         return author;
     }
 
+    @Override
+    public Collection<Author> saveAll(Collection<Author> authors) {
+        return authors.stream()
+                .map(this::save)
+                .toList();
+    }
+
     @Override
     public Author get(Long id) throws EntityNotFoundException {
         return doGet(id);
     }
 
+    @Override
+    public Optional<Author> find(Long id) {
+        return Optional.ofNullable(MockData.authors.get(id));
+    }
+
     static Author doGet(Long id) throws EntityNotFoundException {
         return Optional.ofNullable(MockData.authors.get(id))
                 .orElseThrow(() -> new EntityNotFoundException("Cannot find author with id: " + id));
@@ -43,13 +77,14 @@ public class AuthorServiceMockImpl implements AuthorService {
 
     @Override
     public Collection<Author> list() {
-        return MockData.authors.values().stream().toList();
+        return MockData.authors.values();
     }
 
     @Override
     public Author update(Author author) throws EntityNotFoundException {
         get(author.getId());
         doUpdate(author);
+        events.publishEvent(CatalogueEvent.author(CatalogueEvent.Action.UPDATED, author.getId()));
         return MockData.authors.get(author.getId());
     }
 
@@ -71,16 +106,20 @@ public class AuthorServiceMockImpl implements AuthorService {
             }
 
             books.stream().map(Book::getId).forEach(MockData.books::remove);
+            books.forEach(book -> events.publishEvent(
+                    CatalogueEvent.book(CatalogueEvent.Action.DELETED, book.getId(), Set.of(id))));
 
         }
 
         MockData.authors.remove(id);
-
+        MockData.authorNames.remove(id);
+        events.publishEvent(CatalogueEvent.author(CatalogueEvent.Action.DELETED, id));
 
     }
 
     private static void doUpdate(Author author) {
         MockData.authors.put(author.getId(), author);
+        MockData.authorNames.put(author.getId(), author.getFullName());
     }
 
 }
@@ -4,34 +4,59 @@ import fr.uga.l3miage.data.domain.Author;
 import fr.uga.l3miage.data.domain.Book;
 import fr.uga.l3miage.library.service.AuthorService;
 import fr.uga.l3miage.library.service.BookService;
+import fr.uga.l3miage.library.service.CatalogueEvent;
 import fr.uga.l3miage.library.service.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Component
 public class BookServiceMockImpl implements BookService {
 
     private final AuthorService authorService;
+    private final ApplicationEventPublisher events;
 
-    @Autowired
     public BookServiceMockImpl(AuthorService authorService) {
+        this(authorService, event -> {
+        });
+    }
+
+    @Autowired
+    public BookServiceMockImpl(AuthorService authorService, ApplicationEventPublisher events) {
         this.authorService = authorService;
+        this.events = events;
     }
 
     @Override
     public Book save(Long authorId, Book book) throws EntityNotFoundException {
-        book.setId(MockData.getNextId(Book.class));
+        book.setId(MockData.ids.nextId(Book.class));
         doSave(book);
 
         Author author = bind(authorId, book);
 
         authorService.update(author);
+        publish(CatalogueEvent.Action.SAVED, book);
         return book;
     }
 
+    @Override
+    public Collection<Book> saveAll(Long authorId, Collection<Book> books) throws EntityNotFoundException {
+        Author author = authorService.get(authorId);
+        for (Book book : books) {
+            book.setId(MockData.ids.nextId(Book.class));
+            doSave(book);
+            author.addBook(book);
+            book.addAuthor(author);
+        }
+
+        authorService.update(author);
+        books.forEach(book -> publish(CatalogueEvent.Action.SAVED, book));
+        return books;
+    }
 
     @Override
     public Book get(Long id) throws EntityNotFoundException {
@@ -39,33 +64,42 @@ public class BookServiceMockImpl implements BookService {
                 .orElseThrow(() -> new EntityNotFoundException("Cannot find book with id: " + id));
     }
 
+    @Override
+    public Optional<Book> find(Long id) {
+        return Optional.ofNullable(MockData.books.get(id));
+    }
+
     @Override
     public Collection<Book> list() {
-        return MockData.books.values().stream().toList();
+        return MockData.books.values();
     }
 
     @Override
     public Book update(Book book) throws EntityNotFoundException {
         get(book.getId());
         doSave(book);
+        publish(CatalogueEvent.Action.UPDATED, book);
         return MockData.books.get(book.getId());
     }
 
     public Book addAuthor(Long bookId, Long authorId) throws EntityNotFoundException {
         var book = get(bookId);
         bind(authorId, book);
+        publish(CatalogueEvent.Action.AUTHOR_ADDED, book);
         return book;
     }
 
     @Override
     public void delete(Long id) throws EntityNotFoundException {
-        get(id);
+        Book book = get(id);
         MockData.books.remove(id);
+        publish(CatalogueEvent.Action.DELETED, book);
     }
 
     @Override
     public Collection<Book> findByTitle(String title) {
-        return filterBooks(MockData.books.values(), title);
+        String lowerCaseTitle = title.toLowerCase();
+        return MockData.books.filter(book -> book.getTitle().toLowerCase().contains(lowerCaseTitle));
     }
 
     @Override
@@ -87,6 +121,13 @@ public class BookServiceMockImpl implements BookService {
         return author;
     }
 
+    private void publish(CatalogueEvent.Action action, Book book) {
+        List<Long> authorIds = book.getAuthors() == null ? List.of() : book.getAuthors().stream()
+                .map(Author::getId)
+                .toList();
+        events.publishEvent(CatalogueEvent.book(action, book.getId(), authorIds));
+    }
+
     private static void doSave(Book book) {
         MockData.books.put(book.getId(), book);
     }
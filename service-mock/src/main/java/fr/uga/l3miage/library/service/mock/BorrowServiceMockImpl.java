@@ -0,0 +1,86 @@
+package fr.uga.l3miage.library.service.mock;
+
+import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.library.service.BorrowEvent;
+import fr.uga.l3miage.library.service.BorrowService;
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class BorrowServiceMockImpl implements BorrowService {
+
+    private final ApplicationEventPublisher events;
+
+    public BorrowServiceMockImpl() {
+        this(event -> {
+        });
+    }
+
+    @Autowired
+    public BorrowServiceMockImpl(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @Override
+    public Borrow save(Borrow borrow) throws EntityNotFoundException {
+        borrow.setBooks(stored(borrow.getBooks()));
+        borrow.setId(MockData.ids.nextId(Borrow.class));
+        MockData.borrows.put(borrow.getId(), borrow);
+        events.publishEvent(new BorrowEvent(borrow.getId(), bookIds(borrow)));
+        return borrow;
+    }
+
+    @Override
+    public Borrow get(Long id) throws EntityNotFoundException {
+        return find(id).orElseThrow(() -> new EntityNotFoundException("Cannot find borrow with id: " + id));
+    }
+
+    @Override
+    public Optional<Borrow> find(Long id) {
+        return Optional.ofNullable(MockData.borrows.get(id));
+    }
+
+    @Override
+    public Collection<Borrow> list() {
+        return MockData.borrows.values();
+    }
+
+    // not published: a changed borrow only shows in the recommendations at their next rebuild
+    @Override
+    public Borrow update(Borrow borrow) throws EntityNotFoundException {
+        get(borrow.getId());
+        borrow.setBooks(stored(borrow.getBooks()));
+        MockData.borrows.put(borrow.getId(), borrow);
+        return borrow;
+    }
+
+    // the books as stored, so that a borrow never refers to a book that does not exist
+    private static Set<Book> stored(Collection<Book> books) throws EntityNotFoundException {
+        Set<Book> stored = new HashSet<>();
+        if (books != null) {
+            for (Book book : books) {
+                Book existing = MockData.books.get(book.getId());
+                if (existing == null) {
+                    throw new EntityNotFoundException("Cannot find book with id: " + book.getId());
+                }
+                stored.add(existing);
+            }
+        }
+        return stored;
+    }
+
+    private static List<Long> bookIds(Borrow borrow) {
+        return borrow.getBooks().stream()
+                .map(Book::getId)
+                .toList();
+    }
+}
@@ -2,30 +2,28 @@ package fr.uga.l3miage.library.service.mock;
 
 import fr.uga.l3miage.data.domain.Author;
 import fr.uga.l3miage.data.domain.Book;
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.library.service.IdGenerator;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Clock;
 
 @Component
 public class MockData {
-    static Map<Long, Author> authors = new HashMap<>();
-    static Map<Long, Book> books = new HashMap<>();
-    private static long nextBookId;
-    private static long nextAuthorId;
+    // books are partitioned by their own id, so that a book lookup also goes straight to one partition
+    static final int PARTITIONS = Integer.getInteger("library.mock.partitions",
+            Runtime.getRuntime().availableProcessors() * 4);
+    static ShardedStore<Author> authors = new ShardedStore<>(PARTITIONS);
+    static ShardedStore<Book> books = new ShardedStore<>(PARTITIONS);
+    static ShardedStore<Borrow> borrows = new ShardedStore<>(PARTITIONS);
+    static AuthorNameIndex authorNames = new AuthorNameIndex();
+    // instances running side by side must be started with distinct nodes
+    static final IdGenerator ids = new SnowflakeIdGenerator(Integer.getInteger("library.mock.node", 0), Clock.systemUTC());
 
     private MockData() {
         // to hide the public one
     }
 
-    public static <T> long getNextId(Class<T> c) {
-        if (c.equals(Book.class)) {
-            return nextBookId++;
-        } else {
-            return nextAuthorId++;
-        }
-    }
-
     static {
 
         Author me = new Author();
@@ -44,6 +42,7 @@ public class MockData {
         me.addBook(jpa);
 
         authors.put(me.getId(), me);
+        authorNames.put(me.getId(), me.getFullName());
         books.put(jpa.getId(), jpa);
 
     }
@@ -0,0 +1,265 @@
+package fr.uga.l3miage.library.service.mock;
+
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import fr.uga.l3miage.library.service.Reservation;
+import fr.uga.l3miage.library.service.ReservationService;
+import fr.uga.l3miage.library.service.ReservationStateException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Each book has its own lock-free FIFO waitlist and counter of available copies, so that hot titles never contend
+ * with each other. A copy is handed to the head of the waitlist by whoever makes both a copy and a waiter visible
+ * (a return, an expiry, a cancelled hold or a new reservation), reservations and copies being taken with CAS only.
+ * <p>
+ * Reservations that are claimed, expired or cancelled are forgotten after {@code library.reservations.retention}.
+ * A cancelled reservation stays in its waitlist until it reaches the head, where it is skipped.
+ */
+@Component
+public class ReservationServiceMockImpl implements ReservationService, DisposableBean {
+
+    private final ApplicationEventPublisher events;
+    private final Duration hold;
+    private final Duration retention;
+    private final Clock clock;
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor expiries = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "reservation-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReservationServiceMockImpl(ApplicationEventPublisher events, Duration hold, Duration retention, Clock clock) {
+        this.events = events;
+        this.hold = hold;
+        this.retention = retention;
+        this.clock = clock;
+        // claimed holds would otherwise keep their expiry task for the whole hold duration
+        expiries.setRemoveOnCancelPolicy(true);
+    }
+
+    @Autowired
+    public ReservationServiceMockImpl(ApplicationEventPublisher events,
+                                      @Value("${library.reservations.hold:48h}") Duration hold,
+                                      @Value("${library.reservations.retention:1h}") Duration retention) {
+        this(events, hold, retention, Clock.systemUTC());
+    }
+
+    @Override
+    public Reservation reserve(Long bookId, Long borrowerId) throws EntityNotFoundException {
+        Waitlist waitlist = waitlist(bookId);
+        Ticket ticket = new Ticket(MockData.ids.nextId(Reservation.class), bookId, borrowerId, waitlist.issued.getAndIncrement());
+        tickets.put(ticket.id, ticket);
+        waitlist.queue.add(ticket);
+        publish(ticket);
+        dispatch(waitlist);
+        return snapshot(ticket);
+    }
+
+    @Override
+    public Optional<Reservation> find(Long id) {
+        return Optional.ofNullable(tickets.get(id)).map(this::snapshot);
+    }
+
+    @Override
+    public Reservation claim(Long id) throws EntityNotFoundException, ReservationStateException {
+        Ticket ticket = ticket(id);
+        if (!ticket.state.compareAndSet(Reservation.State.HELD, Reservation.State.CLAIMED)) {
+            throw new ReservationStateException("no copy is held for reservation " + id + ", it is " + ticket.state.get());
+        }
+        ticket.cancelExpiry();
+        waitlists.get(ticket.bookId).lent.incrementAndGet();
+        retire(ticket);
+        publish(ticket);
+        return snapshot(ticket);
+    }
+
+    @Override
+    public Reservation cancel(Long id) throws EntityNotFoundException, ReservationStateException {
+        Ticket ticket = ticket(id);
+        Waitlist waitlist = waitlists.get(ticket.bookId);
+        if (ticket.state.compareAndSet(Reservation.State.WAITING, Reservation.State.CANCELLED)) {
+            // left in the queue, taking it out would go through the whole waitlist
+        } else if (ticket.state.compareAndSet(Reservation.State.HELD, Reservation.State.CANCELLED)) {
+            ticket.cancelExpiry();
+            waitlist.available.incrementAndGet();
+        } else {
+            throw new ReservationStateException("reservation " + id + " cannot be cancelled, it is " + ticket.state.get());
+        }
+        retire(ticket);
+        publish(ticket);
+        dispatch(waitlist);
+        return snapshot(ticket);
+    }
+
+    @Override
+    public boolean returned(Long bookId) throws EntityNotFoundException {
+        Waitlist waitlist = waitlist(bookId);
+        int lent;
+        do {
+            lent = waitlist.lent.get();
+            if (lent == 0) {
+                return false;
+            }
+        } while (!waitlist.lent.compareAndSet(lent, lent - 1));
+        waitlist.available.incrementAndGet();
+        dispatch(waitlist);
+        return true;
+    }
+
+    @Override
+    public void setCopies(Long bookId, int copies) throws EntityNotFoundException {
+        if (copies < 0) {
+            throw new IllegalArgumentException("copies cannot be negative");
+        }
+        Waitlist waitlist = waitlist(bookId);
+        synchronized (waitlist) {
+            // copies removed while lent or held make the available count negative until they come back
+            waitlist.available.addAndGet(copies - waitlist.copies);
+            waitlist.copies = copies;
+        }
+        dispatch(waitlist);
+    }
+
+    @Override
+    public void destroy() {
+        expiries.shutdownNow();
+    }
+
+    private Waitlist waitlist(Long bookId) throws EntityNotFoundException {
+        if (MockData.books.get(bookId) == null) {
+            throw new EntityNotFoundException("Cannot find book with id: " + bookId);
+        }
+        return waitlists.computeIfAbsent(bookId, id -> new Waitlist());
+    }
+
+    private Ticket ticket(Long id) throws EntityNotFoundException {
+        Ticket ticket = tickets.get(id);
+        if (ticket == null) {
+            throw new EntityNotFoundException("Cannot find reservation with id: " + id);
+        }
+        return ticket;
+    }
+
+    /**
+     * Hands available copies to the waiting reservations, in order, as long as there are both.
+     */
+    private void dispatch(Waitlist waitlist) {
+        while (true) {
+            int available = waitlist.available.get();
+            if (available <= 0 || waitlist.queue.isEmpty()) {
+                return;
+            }
+            if (!waitlist.available.compareAndSet(available, available - 1)) {
+                continue;
+            }
+            Ticket next = nextWaiting(waitlist);
+            if (next == null) {
+                // the waiters gave up meanwhile, put the copy back and check for newcomers
+                waitlist.available.incrementAndGet();
+                continue;
+            }
+            next.expiry = expiries.schedule(() -> expire(next), hold.toMillis(), TimeUnit.MILLISECONDS);
+            publish(next);
+        }
+    }
+
+    private Ticket nextWaiting(Waitlist waitlist) {
+        Ticket ticket;
+        while ((ticket = waitlist.queue.poll()) != null) {
+            long number = ticket.number;
+            waitlist.served.accumulateAndGet(number, Math::max);
+            ticket.holdExpiresAt = clock.instant().plus(hold);
+            if (ticket.state.compareAndSet(Reservation.State.WAITING, Reservation.State.HELD)) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    private void expire(Ticket ticket) {
+        if (ticket.state.compareAndSet(Reservation.State.HELD, Reservation.State.EXPIRED)) {
+            Waitlist waitlist = waitlists.get(ticket.bookId);
+            waitlist.available.incrementAndGet();
+            retire(ticket);
+            publish(ticket);
+            dispatch(waitlist);
+        }
+    }
+
+    // the reservation no longer changes, it can still be read for a while
+    private void retire(Ticket ticket) {
+        expiries.schedule(() -> tickets.remove(ticket.id, ticket), retention.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void publish(Ticket ticket) {
+        events.publishEvent(snapshot(ticket));
+    }
+
+    private Reservation snapshot(Ticket ticket) {
+        Reservation.State state = ticket.state.get();
+        long ahead = 0;
+        if (state == Reservation.State.WAITING) {
+            ahead = Math.max(0, ticket.number - waitlists.get(ticket.bookId).served.get() - 1);
+        }
+        Instant expiresAt = state == Reservation.State.HELD ? ticket.holdExpiresAt : null;
+        return new Reservation(ticket.id, ticket.bookId, ticket.borrowerId, state, ahead, expiresAt);
+    }
+
+    private static final class Waitlist {
+
+        final ConcurrentLinkedQueue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        // copies neither lent nor held
+        final AtomicInteger available = new AtomicInteger(1);
+        final AtomicInteger lent = new AtomicInteger();
+        // number of the next ticket, and highest number taken out of the queue
+        final AtomicLong issued = new AtomicLong();
+        final AtomicLong served = new AtomicLong(-1);
+        // guarded by this
+        int copies = 1;
+    }
+
+    private static final class Ticket {
+
+        final Long id;
+        final Long bookId;
+        final Long borrowerId;
+        final long number;
+        final AtomicReference<Reservation.State> state = new AtomicReference<>(Reservation.State.WAITING);
+        volatile Instant holdExpiresAt;
+        volatile ScheduledFuture<?> expiry;
+
+        Ticket(Long id, Long bookId, Long borrowerId, long number) {
+            this.id = id;
+            this.bookId = bookId;
+            this.borrowerId = borrowerId;
+            this.number = number;
+        }
+
+        void cancelExpiry() {
+            ScheduledFuture<?> scheduled = expiry;
+            // not scheduled yet if claimed right after being held, the expiry then finds the hold claimed
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.uga.l3miage.library.service.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * In-memory entity store partitioned by id hash.
+ * <p>
+ * Point operations only touch the partition owning the id. Scans fan out over the partitions as fork/join tasks
+ * and merge the partial results, so they use every core of the pool instead of one.
+ *
+ * @param <T> the entity type
+ */
+public class ShardedStore<T> {
+
+    // below this number of partitions a scan task runs sequentially
+    private static final int SEQUENTIAL_PARTITIONS = 1;
+
+    private final Map<Long, T>[] partitions;
+    private final ForkJoinPool pool;
+
+    public ShardedStore(int partitions) {
+        this(partitions, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ShardedStore(int partitions, ForkJoinPool pool) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("partitions must be positive");
+        }
+        this.partitions = new Map[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new ConcurrentHashMap<>();
+        }
+        this.pool = pool;
+    }
+
+    public T get(Long id) {
+        return id == null ? null : partition(id).get(id);
+    }
+
+    public T put(Long id, T entity) {
+        return partition(id).put(id, entity);
+    }
+
+    public T remove(Long id) {
+        return id == null ? null : partition(id).remove(id);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Long, T> partition : partitions) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return a snapshot of all the entities
+     */
+    public List<T> values() {
+        return filter(entity -> true);
+    }
+
+    /**
+     * @return a snapshot of the entities matching the predicate, scanned in parallel
+     */
+    public List<T> filter(Predicate<? super T> predicate) {
+        return pool.invoke(new Scan(0, partitions.length, predicate));
+    }
+
+    private Map<Long, T> partition(Long id) {
+        // spreads sequential ids, then keeps the high bits
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return partitions[(int) ((hash >>> 32) * partitions.length >>> 32)];
+    }
+
+    private final class Scan extends RecursiveTask<List<T>> {
+
+        private final int from;
+        private final int to;
+        private final Predicate<? super T> predicate;
+
+        Scan(int from, int to, Predicate<? super T> predicate) {
+            this.from = from;
+            this.to = to;
+            this.predicate = predicate;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= SEQUENTIAL_PARTITIONS) {
+                List<T> matches = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    collect(partitions[i].values(), matches);
+                }
+                return matches;
+            }
+            int middle = (from + to) >>> 1;
+            Scan left = new Scan(from, middle, predicate);
+            left.fork();
+            List<T> right = new Scan(middle, to, predicate).compute();
+            List<T> matches = left.join();
+            matches.addAll(right);
+            return matches;
+        }
+
+        private void collect(Collection<T> entities, List<T> matches) {
+            for (T entity : entities) {
+                if (predicate.test(entity)) {
+                    matches.add(entity);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package fr.uga.l3miage.library.service.mock;
+
+import fr.uga.l3miage.library.service.IdGenerator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-like ids, unique across instances as long as each one has its own node number, without any
+ * coordination nor lock.
+ * <p>
+ * An id is made of the seconds elapsed since 2023 (32 bits), the node (8 bits) then a sequence (13 bits), so that
+ * ids stay below 2<sup>53</sup> and are read exactly by JavaScript clients. Every entity type counts on its own.
+ * The time and sequence of the last id of a type are kept in one {@code long} and moved forward by CAS: a sequence
+ * running out in a second carries over the next second, and a clock going back is ignored, so ids of a node only
+ * ever grow.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    static final int NODE_BITS = 8;
+    static final int SEQUENCE_BITS = 13;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final long EPOCH_SECOND = Instant.parse("2023-01-01T00:00:00Z").getEpochSecond();
+
+    private final long node;
+    private final Clock clock;
+    private final Map<Class<?>, AtomicLong> lastIds = new ConcurrentHashMap<>();
+
+    public SnowflakeIdGenerator(int node, Clock clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId(Class<?> entity) {
+        AtomicLong last = lastIds.get(entity);
+        if (last == null) {
+            last = lastIds.computeIfAbsent(entity, type -> new AtomicLong(-1));
+        }
+        long now = (clock.millis() / 1000 - EPOCH_SECOND) << SEQUENCE_BITS;
+        long next = last.accumulateAndGet(now, (previous, time) -> Math.max(previous + 1, time));
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+    }
+
+    static long node(long id) {
+        return id >>> SEQUENCE_BITS & MAX_NODE;
+    }
+}
@@ -0,0 +1,26 @@
+package fr.uga.l3miage.library.service.mock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorNameIndexTest {
+
+    AuthorNameIndex index = new AuthorNameIndex();
+
+    @Test
+    void renamesDoNotGrowTheTree() {
+        index.put(1L, "Victor Hugo");
+        for (int i = 0; i < 1_000; i++) {
+            index.put(2L, "Author " + i);
+        }
+
+        assertTrue(index.treeSize() <= 2 * 4 + 64, "tree of " + index.treeSize() + " words");
+        assertEquals(List.of(2L), index.search("author 999"));
+        assertEquals(List.of(), index.search("author 500"));
+        assertEquals(List.of(1L), index.search("victor hugo"));
+    }
+}
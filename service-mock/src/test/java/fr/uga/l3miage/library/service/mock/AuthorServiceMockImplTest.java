@@ -6,6 +6,10 @@ import fr.uga.l3miage.library.service.DeleteAuthorException;
 import fr.uga.l3miage.library.service.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 
@@ -49,4 +53,29 @@ class AuthorServiceMockImplTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchByNameFuzzy() throws EntityNotFoundException, DeleteAuthorException {
+        Author hugo = new Author();
+        hugo.setFullName("Victor Hugo");
+        hugo = authorServiceMock.save(hugo);
+        Author hugot = new Author();
+        hugot.setFullName("Victor Hugot");
+        hugot = authorServiceMock.save(hugot);
+
+        assertEquals(List.of(-1L), ids(authorServiceMock.searchByNameFuzzy("Bordigony")));
+        // one edit for Hugo, two for Hugot
+        assertEquals(List.of(hugo.getId(), hugot.getId()), ids(authorServiceMock.searchByNameFuzzy("victr hugo")));
+
+        hugo.setFullName("Victor Hugues");
+        authorServiceMock.update(hugo);
+        assertEquals(List.of(hugot.getId()), ids(authorServiceMock.searchByNameFuzzy("victr hugo")));
+
+        authorServiceMock.delete(hugot.getId());
+        assertEquals(List.of(), ids(authorServiceMock.searchByNameFuzzy("victr hugo")));
+    }
+
+    private static List<Long> ids(Collection<Author> authors) {
+        return authors.stream().map(Author::getId).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package fr.uga.l3miage.library.service.mock;
+
+import fr.uga.l3miage.library.service.EntityNotFoundException;
+import fr.uga.l3miage.library.service.Reservation;
+import fr.uga.l3miage.library.service.ReservationStateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationServiceMockImplTest {
+
+    // the book created by MockData
+    static final Long BOOK = -1L;
+
+    List<Reservation> events = new CopyOnWriteArrayList<>();
+    ReservationServiceMockImpl reservations = new ReservationServiceMockImpl(event -> events.add((Reservation) event),
+            Duration.ofHours(1), Duration.ofHours(1), Clock.systemUTC());
+
+    @AfterEach
+    void tearDown() {
+        reservations.destroy();
+    }
+
+    @Test
+    void copiesAreHandedInReservationOrder() throws Exception {
+        Reservation first = reservations.reserve(BOOK, 1L);
+        Reservation second = reservations.reserve(BOOK, 2L);
+        Reservation third = reservations.reserve(BOOK, 3L);
+        assertEquals(Reservation.State.HELD, first.state());
+        assertEquals(Reservation.State.WAITING, second.state());
+        assertEquals(0, second.ahead());
+        assertEquals(1, third.ahead());
+        assertThrows(ReservationStateException.class, () -> reservations.claim(second.id()));
+
+        reservations.claim(first.id());
+        assertTrue(reservations.returned(BOOK));
+        assertEquals(Reservation.State.HELD, state(second));
+        assertEquals(Reservation.State.WAITING, state(third));
+        assertEquals(0, reservations.find(third.id()).orElseThrow().ahead());
+
+        // a cancelled hold goes to the next borrower
+        reservations.cancel(second.id());
+        assertEquals(Reservation.State.HELD, state(third));
+        assertFalse(reservations.returned(BOOK));
+        assertTrue(events.contains(reservations.find(third.id()).orElseThrow()));
+    }
+
+    @Test
+    void unclaimedHoldsExpire() throws Exception {
+        reservations.destroy();
+        reservations = new ReservationServiceMockImpl(event -> events.add((Reservation) event),
+                Duration.ofMillis(50), Duration.ofHours(1), Clock.systemUTC());
+        Reservation first = reservations.reserve(BOOK, 1L);
+        Reservation second = reservations.reserve(BOOK, 2L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (state(second) != Reservation.State.HELD && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Reservation.State.EXPIRED, state(first));
+        assertEquals(Reservation.State.HELD, state(second));
+        assertThrows(ReservationStateException.class, () -> reservations.claim(first.id()));
+    }
+
+    @Test
+    void concurrentReservationsGetEachCopyOnce() throws Exception {
+        reservations.setCopies(BOOK, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            long borrower = thread;
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    ids.add(reservations.reserve(BOOK, borrower).id());
+                }
+                return ids;
+            }));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        executor.shutdown();
+
+        int claimed = 0;
+        while (claimed < ids.size()) {
+            List<Long> held = ids.stream().filter(id -> state(id) == Reservation.State.HELD).toList();
+            assertEquals(Math.min(3, ids.size() - claimed), held.size());
+            for (Long id : held) {
+                reservations.claim(id);
+                claimed++;
+            }
+            for (int i = 0; i < held.size(); i++) {
+                assertTrue(reservations.returned(BOOK));
+            }
+        }
+        assertTrue(ids.stream().allMatch(id -> state(id) == Reservation.State.CLAIMED));
+    }
+
+    @Test
+    void finishedReservationsAreForgotten() throws Exception {
+        reservations.destroy();
+        reservations = new ReservationServiceMockImpl(event -> events.add((Reservation) event),
+                Duration.ofHours(1), Duration.ofMillis(50), Clock.systemUTC());
+        Reservation first = reservations.reserve(BOOK, 1L);
+        Reservation second = reservations.reserve(BOOK, 2L);
+        Reservation third = reservations.reserve(BOOK, 3L);
+        reservations.claim(first.id());
+        reservations.cancel(second.id());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reservations.find(first.id()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        while (reservations.find(second.id()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(reservations.find(first.id()).isEmpty());
+        assertTrue(reservations.find(second.id()).isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> reservations.cancel(second.id()));
+
+        // the cancelled reservation is skipped when the copy comes back
+        assertTrue(reservations.returned(BOOK));
+        assertEquals(Reservation.State.HELD, state(third));
+    }
+
+    @Test
+    void unknownBook() {
+        assertThrows(EntityNotFoundException.class, () -> reservations.reserve(Long.MIN_VALUE, 1L));
+    }
+
+    private Reservation.State state(Reservation reservation) {
+        return state(reservation.id());
+    }
+
+    private Reservation.State state(Long id) {
+        return reservations.find(id).orElseThrow().state();
+    }
+}
@@ -0,0 +1,120 @@
+package fr.uga.l3miage.library.service.mock;
+
+import fr.uga.l3miage.data.domain.Author;
+import fr.uga.l3miage.data.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    static final int THREADS = 16;
+    static final int IDS_PER_THREAD = 20_000;
+    static final int[] NODES = {0, 1, 2, SnowflakeIdGenerator.MAX_NODE};
+
+    @Test
+    void noCollisionAcrossThreadsAndNodes() throws Exception {
+        // nodes sharing a slow clock, each one handing out far more ids per second than a sequence holds
+        ManualClock clock = new ManualClock();
+        List<SnowflakeIdGenerator> nodes = new ArrayList<>();
+        for (int node : NODES) {
+            nodes.add(new SnowflakeIdGenerator(node, clock));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                SnowflakeIdGenerator generator = nodes.get(thread % nodes.size());
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId(Book.class);
+                        if (i % 5000 == 0) {
+                            clock.tick();
+                        }
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                long[] threadIds = futures.get(thread).get();
+                for (int i = 0; i < threadIds.length; i++) {
+                    assertTrue(ids.add(threadIds[i]), "duplicate id " + threadIds[i]);
+                    assertTrue(threadIds[i] < 1L << 53);
+                    assertEquals(NODES[thread % NODES.length], SnowflakeIdGenerator.node(threadIds[i]));
+                    if (i > 0) {
+                        assertTrue(threadIds[i] > threadIds[i - 1], "ids of a thread must grow");
+                    }
+                }
+            }
+            assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void idsKeepGrowingWhenTheClockGoesBack() {
+        ManualClock clock = new ManualClock();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock);
+        long before = generator.nextId(Author.class);
+        clock.seconds.addAndGet(-3600);
+        long after = generator.nextId(Author.class);
+        assertTrue(after > before);
+    }
+
+    @Test
+    void entityTypesCountOnTheirOwn() {
+        ManualClock clock = new ManualClock();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock);
+        assertEquals(generator.nextId(Book.class), generator.nextId(Author.class));
+        assertEquals(generator.nextId(Book.class), generator.nextId(Author.class));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE + 1, clock));
+    }
+
+    // time only moves when told to, so that every id falls in a handful of seconds
+    static class ManualClock extends Clock {
+
+        final AtomicLong seconds = new AtomicLong(Instant.parse("2024-06-01T00:00:00Z").getEpochSecond());
+
+        void tick() {
+            seconds.incrementAndGet();
+        }
+
+        @Override
+        public long millis() {
+            return seconds.get() * 1000;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -15,6 +15,14 @@ public interface AuthorService extends BaseService<Author, Long> {
      */
     Author save(Author author);
 
+    /**
+     * Saves several authors at once
+     *
+     * @param authors to be saved
+     * @return the authors with an id, in the same order
+     */
+    Collection<Author> saveAll(Collection<Author> authors);
+
     /**
      * Search an author by name ignoring case
      *
@@ -23,7 +31,13 @@ public interface AuthorService extends BaseService<Author, Long> {
      */
     Collection<Author> searchByName(String name);
 
-    
+    /**
+     * Search an author by name tolerating typos, each word of the name may be a few letters off
+     *
+     * @param name possibly misspelled words of the name of the author
+     * @return found authors, the closest ones first
+     */
+    Collection<Author> searchByNameFuzzy(String name);
 
     /**
      * Deletes an author
@@ -18,6 +18,16 @@ public interface BookService extends BaseService<Book, Long> {
      */
     Book save(Long authorId, Book book) throws EntityNotFoundException;
 
+    /**
+     * Save several books of the same author at once, see {@link #save(Long, Book)}
+     *
+     * @param authorId the author id
+     * @param books    the books to add
+     * @return the books with an id set, in the same order
+     * @throws EntityNotFoundException if the author do not exist
+     */
+    Collection<Book> saveAll(Long authorId, Collection<Book> books) throws EntityNotFoundException;
+
     /**
      * Find books by title. Title can partial, will be matched in case-insensitive fashion
      *
@@ -0,0 +1,17 @@
+package fr.uga.l3miage.library.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the service layer after a borrow is recorded.
+ *
+ * @param id      id of the borrow
+ * @param bookIds ids of the books taken out together
+ */
+public record BorrowEvent(Long id, Collection<Long> bookIds) {
+
+    public BorrowEvent {
+        bookIds = List.copyOf(bookIds);
+    }
+}
@@ -0,0 +1,19 @@
+package fr.uga.l3miage.library.service;
+
+import fr.uga.l3miage.data.domain.Borrow;
+import fr.uga.l3miage.library.service.base.BaseService;
+
+/**
+ * The loans of the library, each new one is published as a {@link BorrowEvent}.
+ */
+public interface BorrowService extends BaseService<Borrow, Long> {
+
+    /**
+     * Records a borrow of one or several books
+     *
+     * @param borrow to be saved
+     * @return the borrow with an id
+     * @throws EntityNotFoundException when one of the books does not exist
+     */
+    Borrow save(Borrow borrow) throws EntityNotFoundException;
+}
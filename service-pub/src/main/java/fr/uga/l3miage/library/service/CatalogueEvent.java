@@ -0,0 +1,35 @@
+package fr.uga.l3miage.library.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the service layer after every successful catalogue mutation.
+ *
+ * @param entity    the kind of entity that changed
+ * @param action    what happened to it
+ * @param id        id of the changed entity
+ * @param authorIds ids of the authors affected by the change (the author itself for author events)
+ */
+public record CatalogueEvent(Entity entity, Action action, Long id, Collection<Long> authorIds) {
+
+    public static CatalogueEvent author(Action action, Long id) {
+        return new CatalogueEvent(Entity.AUTHOR, action, id, List.of(id));
+    }
+
+    public static CatalogueEvent book(Action action, Long id, Collection<Long> authorIds) {
+        return new CatalogueEvent(Entity.BOOK, action, id, List.copyOf(authorIds));
+    }
+
+    public enum Entity {
+        AUTHOR,
+        BOOK
+    }
+
+    public enum Action {
+        SAVED,
+        UPDATED,
+        DELETED,
+        AUTHOR_ADDED
+    }
+}
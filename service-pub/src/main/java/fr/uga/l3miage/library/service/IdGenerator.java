@@ -0,0 +1,16 @@
+package fr.uga.l3miage.library.service;
+
+/**
+ * Hands out the ids of new entities, safe to call from any number of threads and, depending on the implementation,
+ * from several instances of the application sharing the same data.
+ */
+public interface IdGenerator {
+
+    /**
+     * Ids are unique per entity type: a book and an author may get the same id, two books never do
+     *
+     * @param entity the type of the entity to identify
+     * @return an id never handed out before for this type
+     */
+    long nextId(Class<?> entity);
+}
@@ -0,0 +1,44 @@
+package fr.uga.l3miage.library.service;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a reservation of a book, also published as an application event on every change of state.
+ *
+ * @param id             id of the reservation
+ * @param bookId         the reserved book
+ * @param borrowerId     the borrower waiting for it
+ * @param state          where the reservation stands
+ * @param ahead          number of reservations before this one in the waitlist, may include cancelled ones not
+ *                       skipped yet, 0 unless {@link State#WAITING}
+ * @param holdExpiresAt  end of the hold, null unless {@link State#HELD}
+ */
+public record Reservation(Long id, Long bookId, Long borrowerId, State state, long ahead, Instant holdExpiresAt) {
+
+    public boolean isFinal() {
+        return state != State.WAITING && state != State.HELD;
+    }
+
+    public enum State {
+        /**
+         * in the waitlist of the book
+         */
+        WAITING,
+        /**
+         * a copy is set aside for the borrower until the hold expires
+         */
+        HELD,
+        /**
+         * the borrower picked the copy up
+         */
+        CLAIMED,
+        /**
+         * the hold expired before the copy was picked up, the copy went to the next borrower
+         */
+        EXPIRED,
+        /**
+         * the borrower gave up
+         */
+        CANCELLED
+    }
+}
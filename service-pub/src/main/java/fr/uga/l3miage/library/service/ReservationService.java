@@ -0,0 +1,67 @@
+package fr.uga.l3miage.library.service;
+
+import java.util.Optional;
+
+/**
+ * Waitlists of the books: borrowers reserve a book, the copies are handed to them in reservation order as they are
+ * returned, and set aside for a limited time. Every change of state of a reservation is published as a
+ * {@link Reservation} application event, so that borrowers can be notified instead of polling.
+ */
+public interface ReservationService {
+
+    /**
+     * Joins the waitlist of a book, the reservation is held right away if a copy is available and nobody waits
+     *
+     * @param bookId     the book to reserve
+     * @param borrowerId the borrower
+     * @return the new reservation
+     * @throws EntityNotFoundException if the book does not exist
+     */
+    Reservation reserve(Long bookId, Long borrowerId) throws EntityNotFoundException;
+
+    /**
+     * @param id the reservation id
+     * @return the current state of the reservation or an empty optional when it cannot be found, reservations that
+     * were claimed, expired or cancelled may be forgotten after a while
+     */
+    Optional<Reservation> find(Long id);
+
+    /**
+     * Lends the copy held for a reservation to its borrower
+     *
+     * @param id the reservation id
+     * @return the claimed reservation
+     * @throws EntityNotFoundException   if the reservation does not exist
+     * @throws ReservationStateException if no copy is held for the reservation (still waiting, expired...)
+     */
+    Reservation claim(Long id) throws EntityNotFoundException, ReservationStateException;
+
+    /**
+     * Leaves the waitlist, or gives up a held copy which then goes to the next borrower
+     *
+     * @param id the reservation id
+     * @return the cancelled reservation
+     * @throws EntityNotFoundException   if the reservation does not exist
+     * @throws ReservationStateException if the reservation was already claimed, expired or cancelled
+     */
+    Reservation cancel(Long id) throws EntityNotFoundException, ReservationStateException;
+
+    /**
+     * Records the return of a copy of a book, handed to the first borrower waiting for it if any
+     *
+     * @param bookId the returned book
+     * @return false if no copy of the book was lent
+     * @throws EntityNotFoundException if the book does not exist
+     */
+    boolean returned(Long bookId) throws EntityNotFoundException;
+
+    /**
+     * Sets the number of copies of a book the library owns, one by default
+     *
+     * @param bookId the book
+     * @param copies number of copies, lent or not
+     * @throws EntityNotFoundException if the book does not exist
+     */
+    void setCopies(Long bookId, int copies) throws EntityNotFoundException;
+
+}
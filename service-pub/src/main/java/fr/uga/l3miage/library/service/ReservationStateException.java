@@ -0,0 +1,12 @@
+package fr.uga.l3miage.library.service;
+
+/**
+ * Thrown when a reservation is not in a state allowing the requested operation
+ */
+public class ReservationStateException extends Exception {
+
+    public ReservationStateException(String message) {
+        super(message);
+    }
+
+}
@@ -3,6 +3,7 @@ package fr.uga.l3miage.library.service.base;
 import fr.uga.l3miage.library.service.EntityNotFoundException;
 
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * This interface to read/update persistent object.
@@ -22,6 +23,15 @@ public interface BaseService<O, I> {
      */
     O get(I id) throws EntityNotFoundException;
 
+    /**
+     * get a transient object without raising an exception when it does not exist, to be preferred when a miss is
+     * an expected outcome (e.g. answering a 404)
+     *
+     * @param id the object identifier
+     * @return the object or an empty optional when it cannot be found
+     */
+    Optional<O> find(I id);
+
     /**
      * Returns all objects
      *